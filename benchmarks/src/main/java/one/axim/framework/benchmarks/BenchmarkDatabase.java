@@ -0,0 +1,145 @@
+package one.axim.framework.benchmarks;
+
+import one.axim.framework.benchmarks.model.BenchMember;
+import one.axim.framework.benchmarks.model.BenchMemberRepository;
+import one.axim.framework.mybatis.mapper.CommonMapper;
+import one.axim.framework.mybatis.plugin.XObjectFactory;
+import one.axim.framework.mybatis.plugin.XResultInterceptor;
+import one.axim.framework.mybatis.proxy.XRepositoryProxy;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.session.SqlSessionManager;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory H2 database (MySQL mode) wired like a framework application:
+ * {@code CommonMapper}, {@code XResultInterceptor} and {@code XObjectFactory} on a plain MyBatis
+ * {@link Configuration} mirroring the demo {@code mybatis-config.xml}, without a Spring context.
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    public static final int SEED_ROWS = 10_000;
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final PooledDataSource dataSource;
+    private final SqlSessionFactory sqlSessionFactory;
+    private final SqlSessionManager sqlSessionManager;
+
+    public BenchmarkDatabase() {
+        this.dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:bench" + SEQUENCE.incrementAndGet() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        createSchema();
+
+        Configuration configuration =
+                new Configuration(new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.setCallSettersOnNulls(true);
+        configuration.setObjectFactory(new XObjectFactory());
+        configuration.addInterceptor(new XResultInterceptor());
+        configuration.addMapper(CommonMapper.class);
+
+        this.sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+        this.sqlSessionManager = SqlSessionManager.newInstance(sqlSessionFactory);
+    }
+
+    public Configuration getConfiguration() {
+        return sqlSessionFactory.getConfiguration();
+    }
+
+    public PooledDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public CommonMapper commonMapper() {
+        return sqlSessionManager.getMapper(CommonMapper.class);
+    }
+
+    public BenchMemberRepository repository() {
+        return repository(commonMapper());
+    }
+
+    /** Builds the repository proxy over the given mapper, exactly as {@code XRepositoryProxyFactoryBean} does. */
+    public static BenchMemberRepository repository(CommonMapper commonMapper) {
+        return (BenchMemberRepository) Proxy.newProxyInstance(
+                BenchMemberRepository.class.getClassLoader(),
+                new Class<?>[]{BenchMemberRepository.class},
+                new XRepositoryProxy(commonMapper, BenchMemberRepository.class, Long.class, BenchMember.class));
+    }
+
+    /** Inserts {@link #SEED_ROWS} members: ids 1..N, email {@code member<i>@bench.io}, 4 statuses, 50 ages. */
+    public BenchmarkDatabase seed() {
+        String sql = "INSERT INTO bench_member (name, email, status, age, memo, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+            LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+            for (int i = 1; i <= SEED_ROWS; i++) {
+                statement.setString(1, "member-" + i);
+                statement.setString(2, email(i));
+                statement.setString(3, status(i));
+                statement.setInt(4, 20 + i % 50);
+                statement.setString(5, "memo text for member " + i);
+                statement.setTimestamp(6, Timestamp.valueOf(base.plusMinutes(i)));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not seed benchmark table", e);
+        }
+        return this;
+    }
+
+    public static String email(int i) {
+        return "member" + i + "@bench.io";
+    }
+
+    public static String status(int i) {
+        return switch (i % 4) {
+            case 0 -> "ACTIVE";
+            case 1 -> "INACTIVE";
+            case 2 -> "PENDING";
+            default -> "BLOCKED";
+        };
+    }
+
+    private void createSchema() {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE bench_member ("
+                    + "id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                    + "name VARCHAR(100), "
+                    + "email VARCHAR(255) NOT NULL, "
+                    + "status VARCHAR(20), "
+                    + "age INT, "
+                    + "memo VARCHAR(500), "
+                    + "created_at TIMESTAMP, "
+                    + "UNIQUE KEY uk_bench_member_email (email))");
+            statement.execute("CREATE INDEX ix_bench_member_status_age ON bench_member (status, age)");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create benchmark schema", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        } catch (SQLException ignored) {
+        }
+        dataSource.forceCloseAll();
+    }
+}
@@ -0,0 +1,130 @@
+package one.axim.framework.benchmarks;
+
+import one.axim.framework.benchmarks.model.BenchMember;
+import one.axim.framework.mybatis.model.XMapperParameter;
+import one.axim.framework.mybatis.provider.CrudSqlProvider;
+import one.axim.framework.mybatis.provider.XCachingLanguageDriver;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
+import org.apache.ibatis.session.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * SQL template lookup in {@link CrudSqlProvider} and template parsing by the language driver.
+ *
+ * <p>{@code legacyStringCacheKey} reproduces the former string cache key so the structured
+ * key lookup has a baseline; {@code parseEveryCall} is what {@code ProviderSqlSource} did per
+ * call before {@link XCachingLanguageDriver}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CrudSqlProviderBenchmark {
+
+    private CrudSqlProvider provider;
+    private XMapperParameter byId;
+    private XMapperParameter unfiltered;
+    private XMapperParameter byEmail;
+    private XMapperParameter byStatusAndAge;
+    private XMapperParameter model;
+
+    private Configuration configuration;
+    private XMLLanguageDriver plainDriver;
+    private XCachingLanguageDriver cachingDriver;
+    private String selectiveUpdateTemplate;
+
+    @Setup
+    public void setUp() {
+        provider = new CrudSqlProvider();
+
+        byId = parameter(null);
+        byId.setWhere(1L);
+        unfiltered = parameter(null);
+        byEmail = parameter(Map.of("email", BenchmarkDatabase.email(1)));
+
+        Map<String, Object> statusAndAge = new HashMap<>();
+        statusAndAge.put("status", "ACTIVE");
+        statusAndAge.put("age", 30);
+        byStatusAndAge = parameter(statusAndAge);
+
+        BenchMember member = new BenchMember();
+        member.setId(1L);
+        member.setName("bench");
+        model = parameter(null);
+        model.setModel(member);
+
+        configuration = new Configuration();
+        plainDriver = new XMLLanguageDriver();
+        cachingDriver = new XCachingLanguageDriver();
+        selectiveUpdateTemplate = provider.selectiveUpdate(model);
+    }
+
+    @Benchmark
+    public String findByIdTemplate() {
+        return provider.findById(byId);
+    }
+
+    @Benchmark
+    public String countTemplate() {
+        return provider.count(unfiltered);
+    }
+
+    @Benchmark
+    public String findOneByTemplate() {
+        return provider.findOneBy(byEmail);
+    }
+
+    @Benchmark
+    public String findWhereTemplate() {
+        return provider.findWhere(byStatusAndAge);
+    }
+
+    @Benchmark
+    public String insertTemplate() {
+        return provider.insert(model);
+    }
+
+    @Benchmark
+    public String legacyStringCacheKey() {
+        StringBuilder key = new StringBuilder(byStatusAndAge.getResultClass().getName())
+                .append(':').append("findWhere");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> where = (Map<String, Object>) byStatusAndAge.getWhere();
+        key.append(':').append(where.keySet().stream().sorted().collect(Collectors.joining(",")));
+        return key.toString();
+    }
+
+    @Benchmark
+    public SqlSource parseEveryCall() {
+        return plainDriver.createSqlSource(configuration, selectiveUpdateTemplate, XMapperParameter.class);
+    }
+
+    @Benchmark
+    public SqlSource parseCached() {
+        return cachingDriver.createSqlSource(configuration, selectiveUpdateTemplate, XMapperParameter.class);
+    }
+
+    private static XMapperParameter parameter(Map<String, Object> where) {
+        XMapperParameter parameter = new XMapperParameter();
+        parameter.setResultClass(BenchMember.class);
+        parameter.setWhere(where);
+        return parameter;
+    }
+}
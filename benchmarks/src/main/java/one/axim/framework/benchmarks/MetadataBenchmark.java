@@ -0,0 +1,56 @@
+package one.axim.framework.benchmarks;
+
+import one.axim.framework.benchmarks.model.BenchMember;
+import one.axim.framework.mybatis.meta.EntityMetadata;
+import one.axim.framework.mybatis.meta.EntityMetadataFactory;
+import one.axim.framework.mybatis.type.XDataMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cached {@link EntityMetadataFactory#getMetadata} lookups and {@link XDataMap#put}, which runs
+ * its snake_case to camelCase conversion for every column of every map-typed result row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetadataBenchmark {
+
+    private EntityMetadataFactory metadataFactory;
+    private XDataMap dataMap;
+
+    @Setup
+    public void setUp() {
+        metadataFactory = new EntityMetadataFactory();
+        metadataFactory.getMetadata(BenchMember.class, Long.class);
+        dataMap = new XDataMap();
+    }
+
+    @Benchmark
+    public EntityMetadata getMetadata() {
+        return metadataFactory.getMetadata(BenchMember.class, Long.class);
+    }
+
+    @Benchmark
+    public Object dataMapPutSnakeCase() {
+        return dataMap.put("member_status_code", "ACTIVE");
+    }
+
+    @Benchmark
+    public Object dataMapPutCamelCase() {
+        return dataMap.put("memberStatusCode", "ACTIVE");
+    }
+}
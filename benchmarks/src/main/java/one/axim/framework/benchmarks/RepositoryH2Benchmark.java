@@ -0,0 +1,108 @@
+package one.axim.framework.benchmarks;
+
+import one.axim.framework.benchmarks.model.BenchMember;
+import one.axim.framework.benchmarks.model.BenchMemberRepository;
+import one.axim.framework.core.data.XDirection;
+import one.axim.framework.core.data.XOrder;
+import one.axim.framework.core.data.XPage;
+import one.axim.framework.core.data.XPagination;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end repository calls through MyBatis against H2 in MySQL mode.
+ *
+ * <p>H2 runs in-process, so these numbers are dominated by framework and MyBatis overhead rather
+ * than network or storage — which is exactly the part the framework controls.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryH2Benchmark {
+
+    private static final int SAVE_ALL_SIZE = 100;
+
+    private BenchmarkDatabase database;
+    private BenchMemberRepository repository;
+    private BenchMember existing;
+    private XPagination deepPage;
+    private int insertSequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = new BenchmarkDatabase().seed();
+        repository = database.repository();
+        existing = repository.findOne(1L);
+
+        deepPage = new XPagination();
+        deepPage.setPage(200);
+        deepPage.setSize(20);
+        deepPage.addOrder(new XOrder("createdAt", XDirection.DESC));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public BenchMember findOne() {
+        return repository.findOne(42L);
+    }
+
+    @Benchmark
+    public BenchMember derivedFindByEmail() {
+        return repository.findByEmail(BenchmarkDatabase.email(42));
+    }
+
+    @Benchmark
+    public long countWhere() {
+        return repository.count(Map.of("status", "ACTIVE"));
+    }
+
+    @Benchmark
+    public XPage<BenchMember> paginatedFindAll() {
+        return repository.findAll(deepPage);
+    }
+
+    @Benchmark
+    public Long saveExisting() {
+        return repository.save(existing);
+    }
+
+    @Benchmark
+    public int modifyExisting() {
+        return repository.modify(existing);
+    }
+
+    @Benchmark
+    public int saveAll() {
+        List<BenchMember> members = new ArrayList<>(SAVE_ALL_SIZE);
+        for (int i = 0; i < SAVE_ALL_SIZE; i++) {
+            BenchMember member = new BenchMember();
+            member.setName("bulk");
+            member.setEmail("bulk" + (insertSequence++) + "@bench.io");
+            member.setStatus("PENDING");
+            members.add(member);
+        }
+        return repository.saveAll(members);
+    }
+}
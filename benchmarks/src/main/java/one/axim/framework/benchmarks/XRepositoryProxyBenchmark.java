@@ -0,0 +1,90 @@
+package one.axim.framework.benchmarks;
+
+import one.axim.framework.benchmarks.model.BenchMember;
+import one.axim.framework.benchmarks.model.BenchMemberRepository;
+import one.axim.framework.mybatis.mapper.CommonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code XRepositoryProxy.invoke} dispatch cost in isolation.
+ *
+ * <p>The repository proxy sits on a stub {@link CommonMapper} that returns canned values, so the
+ * numbers cover method-name dispatch, derived-query parsing, where-map building and key
+ * extraction — not MyBatis or JDBC.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XRepositoryProxyBenchmark {
+
+    private BenchMemberRepository repository;
+    private BenchMember member;
+
+    @Setup
+    public void setUp() {
+        member = new BenchMember();
+        member.setId(1L);
+        member.setName("bench");
+        member.setEmail(BenchmarkDatabase.email(1));
+
+        BenchMember canned = member;
+        CommonMapper stub = (CommonMapper) Proxy.newProxyInstance(
+                CommonMapper.class.getClassLoader(),
+                new Class<?>[]{CommonMapper.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById", "findOneBy" -> canned;
+                    case "findAll", "findWhere" -> List.of(canned);
+                    case "count" -> 1L;
+                    case "insert", "insertAndSelectKey", "insertAll" -> 1L;
+                    case "upsert", "update", "selectiveUpdate", "delete" -> 1;
+                    default -> null;
+                });
+        repository = BenchmarkDatabase.repository(stub);
+    }
+
+    @Benchmark
+    public BenchMember findOne() {
+        return repository.findOne(1L);
+    }
+
+    @Benchmark
+    public BenchMember derivedFindByEmail() {
+        return repository.findByEmail(BenchmarkDatabase.email(1));
+    }
+
+    @Benchmark
+    public List<BenchMember> derivedFindByStatusAndAge() {
+        return repository.findByStatusAndAge("ACTIVE", 30);
+    }
+
+    @Benchmark
+    public long derivedCountByStatus() {
+        return repository.countByStatus("ACTIVE");
+    }
+
+    @Benchmark
+    public boolean exists() {
+        return repository.exists(1L);
+    }
+
+    @Benchmark
+    public Long saveWithKey() {
+        return repository.save(member);
+    }
+}
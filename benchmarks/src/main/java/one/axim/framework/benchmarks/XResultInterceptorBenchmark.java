@@ -0,0 +1,137 @@
+package one.axim.framework.benchmarks;
+
+import one.axim.framework.benchmarks.model.BenchMember;
+import one.axim.framework.core.data.XDirection;
+import one.axim.framework.core.data.XOrder;
+import one.axim.framework.core.data.XPagination;
+import one.axim.framework.mybatis.mapper.CommonMapper;
+import one.axim.framework.mybatis.model.XMapperParameter;
+import one.axim.framework.mybatis.plugin.XResultInterceptor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link XResultInterceptor#intercept} on a stub {@link Executor} whose {@code query} returns an
+ * empty list, so only the interceptor's own work is measured:
+ *
+ * <ul>
+ *   <li>{@code findByIdSwap} — the generic-return result type swap ({@code MappedStatement} copy)</li>
+ *   <li>{@code countNoSwap} — scalar statement, no swap</li>
+ *   <li>{@code paginatedFindAll} — COUNT on H2 plus the ORDER BY/LIMIT rewrite and statement copy</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XResultInterceptorBenchmark {
+
+    private static final Method QUERY;
+
+    static {
+        try {
+            QUERY = Executor.class.getMethod("query",
+                    MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class);
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private BenchmarkDatabase database;
+    private Transaction transaction;
+    private Executor executor;
+    private XResultInterceptor interceptor;
+
+    private MappedStatement findById;
+    private MappedStatement findAll;
+    private MappedStatement count;
+
+    private XMapperParameter byId;
+    private XMapperParameter unfiltered;
+    private XMapperParameter paginated;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = new BenchmarkDatabase().seed();
+        transaction = new JdbcTransaction(database.getDataSource().getConnection());
+        executor = (Executor) Proxy.newProxyInstance(
+                Executor.class.getClassLoader(),
+                new Class<?>[]{Executor.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "query" -> Collections.emptyList();
+                    case "getTransaction" -> transaction;
+                    default -> null;
+                });
+        interceptor = new XResultInterceptor();
+
+        String mapper = CommonMapper.class.getName();
+        findById = database.getConfiguration().getMappedStatement(mapper + ".findById");
+        findAll = database.getConfiguration().getMappedStatement(mapper + ".findAll");
+        count = database.getConfiguration().getMappedStatement(mapper + ".count");
+
+        byId = new XMapperParameter();
+        byId.setResultClass(BenchMember.class);
+        byId.setWhere(1L);
+
+        unfiltered = new XMapperParameter();
+        unfiltered.setResultClass(BenchMember.class);
+
+        XPagination pagination = new XPagination();
+        pagination.setPage(50);
+        pagination.setSize(20);
+        pagination.addOrder(new XOrder("createdAt", XDirection.DESC));
+        paginated = new XMapperParameter();
+        paginated.setResultClass(BenchMember.class);
+        paginated.setPagination(pagination);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        transaction.close();
+        database.close();
+    }
+
+    @Benchmark
+    public Object findByIdSwap() throws Throwable {
+        return interceptor.intercept(invocation(findById, byId));
+    }
+
+    @Benchmark
+    public Object countNoSwap() throws Throwable {
+        return interceptor.intercept(invocation(count, unfiltered));
+    }
+
+    @Benchmark
+    public Object paginatedFindAll() throws Throwable {
+        return interceptor.intercept(invocation(findAll, paginated));
+    }
+
+    private Invocation invocation(MappedStatement ms, Object parameter) {
+        return new Invocation(executor, QUERY,
+                new Object[]{ms, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER});
+    }
+}
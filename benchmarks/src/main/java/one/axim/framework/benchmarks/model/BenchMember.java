@@ -0,0 +1,27 @@
+package one.axim.framework.benchmarks.model;
+
+import lombok.Data;
+import one.axim.framework.mybatis.annotation.XColumn;
+import one.axim.framework.mybatis.annotation.XEntity;
+
+import java.time.LocalDateTime;
+
+@Data
+@XEntity("bench_member")
+public class BenchMember {
+
+    @XColumn(isPrimaryKey = true, isAutoIncrement = true)
+    private Long id;
+
+    private String name;
+
+    private String email;
+
+    private String status;
+
+    private Integer age;
+
+    private String memo;
+
+    private LocalDateTime createdAt;
+}
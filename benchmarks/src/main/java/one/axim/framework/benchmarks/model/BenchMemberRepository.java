@@ -0,0 +1,14 @@
+package one.axim.framework.benchmarks.model;
+
+import one.axim.framework.mybatis.repository.IXRepository;
+
+import java.util.List;
+
+public interface BenchMemberRepository extends IXRepository<Long, BenchMember> {
+
+    BenchMember findByEmail(String email);
+
+    List<BenchMember> findByStatusAndAge(String status, Integer age);
+
+    long countByStatus(String status);
+}
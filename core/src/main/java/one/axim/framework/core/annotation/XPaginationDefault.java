@@ -49,4 +49,11 @@ public @interface XPaginationDefault {
      * @return Order By 정렬 방법
      */
     XDirection direction() default XDirection.DESC;
+
+    /**
+     * COUNT 쿼리 생략 여부 (무한 스크롤 등 전체 건수가 필요 없는 목록)
+     *
+     * @return true 면 COUNT 없이 size + 1 행으로 다음 페이지 여부만 판단
+     */
+    boolean skipCount() default false;
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package one.axim.framework.core.data;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -21,6 +23,12 @@ import java.util.stream.Stream;
  * boolean more  = page.getHasNext();      // true if more pages exist
  * }</pre>
  *
+ * <p>Pages fetched in keyset mode ({@link XPagination#setCursor(String)}) carry no
+ * {@code totalCount}; {@link #getNextCursor()} is the token for the following page and is
+ * {@code null} on the last page. Pages fetched with {@link XPagination#setSkipCount(boolean)}
+ * also leave {@code totalCount} {@code null} and report {@link #getHasNext()} from one look-ahead
+ * row.</p>
+ *
  * @param <T> the entity type
  * @see XPagination
  * @see XOrder
@@ -39,6 +47,12 @@ public class XPage<T> {
 
     private List<T> pageRows;
 
+    private String nextCursor;
+
+    private Boolean hasNext;
+
+    private Boolean totalCountApproximate;
+
     public Integer getTotalCount() {
 
         return totalCount;
@@ -122,6 +136,39 @@ public class XPage<T> {
         }
     }
 
+    public String getNextCursor() {
+
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * {@code totalCount} 가 정확한 COUNT 가 아니라 {@code EXPLAIN} 행 추정치이면 {@code true}.
+     * 정확한 COUNT 이거나 COUNT 를 생략한 페이지에서는 {@code null} 이며 JSON 에 나타나지 않는다.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Boolean getTotalCountApproximate() {
+
+        return totalCountApproximate;
+    }
+
+    public void setTotalCountApproximate(Boolean totalCountApproximate) {
+
+        this.totalCountApproximate = totalCountApproximate;
+    }
+
+    /**
+     * 다음 페이지 존재 여부를 직접 지정한다. COUNT 를 생략한 페이지에서 {@code size + 1} 행 조회 결과로 채운다.
+     */
+    public void setHasNext(Boolean hasNext) {
+
+        this.hasNext = hasNext;
+    }
+
     @Override
     public String toString() {
         return "XPage{totalCount=" + totalCount
@@ -132,6 +179,8 @@ public class XPage<T> {
 
     public boolean getHasNext() {
 
+        if(this.hasNext != null) return this.hasNext;
+        if(this.nextCursor != null) return true;
         if(this.page == null) return false;
         if(this.totalCount == null) return false;
         if(this.size == null || this.size == 0) return false;
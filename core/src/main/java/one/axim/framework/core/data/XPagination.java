@@ -15,6 +15,14 @@ import java.util.List;
  * (e.g., {@code findAll(XPagination)}, {@code findWhere(XPagination, Map)}) to
  * receive an {@link XPage} result with automatic COUNT query and LIMIT/OFFSET.</p>
  *
+ * <p>Setting a {@linkplain #setCursor(String) cursor} switches to keyset (seek) pagination:
+ * instead of skipping {@code offset} rows the query continues after the last row of the
+ * previous page, so every page costs the same. {@code page}/{@code offset} are ignored and
+ * no COUNT query runs in this mode.</p>
+ *
+ * <p>{@linkplain #setSkipCount(boolean) skipCount} keeps page/offset pagination but drops the
+ * COUNT query, for lists that never show a total (e.g. infinite scroll).</p>
+ *
  * <h3>Usage</h3>
  * <pre>{@code
  * XPagination pagination = new XPagination();
@@ -22,6 +30,12 @@ import java.util.List;
  *
  * XPage<User> result = userRepository.findAll(pagination);
  * // page=1, size=20 by default
+ *
+ * // keyset pagination: "" for the first page, then the previous page's nextCursor
+ * pagination.setCursor("");
+ * XPage<User> first = userRepository.findAll(pagination);
+ * pagination.setCursor(first.getNextCursor());
+ * XPage<User> second = userRepository.findAll(pagination);
  * }</pre>
  *
  * @see XPage
@@ -42,6 +56,10 @@ public class XPagination {
 
     private int page = DEFAULT_PAGE;
 
+    private String cursor;
+
+    private boolean skipCount;
+
     private final ArrayList<XOrder> orders;
 
     public XPagination() {
@@ -115,4 +133,41 @@ public class XPagination {
 
         this.page = page;
     }
+
+    /**
+     * keyset 페이지네이션 커서를 반환한다.
+     *
+     * @return {@code null} 이면 offset 페이지네이션, 빈 문자열이면 keyset 첫 페이지,
+     *         그 외에는 이전 페이지의 {@link XPage#getNextCursor()} 값
+     */
+    public String getCursor() {
+
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+
+        this.cursor = cursor;
+    }
+
+    public boolean isCursorMode() {
+
+        return cursor != null;
+    }
+
+    /**
+     * COUNT 쿼리를 생략할지 여부를 반환한다.
+     *
+     * <p>{@code true} 이면 {@code size + 1} 행을 읽어 {@link XPage#getHasNext()} 만 채우고
+     * {@link XPage#getTotalCount()} 는 {@code null} 로 둔다.</p>
+     */
+    public boolean isSkipCount() {
+
+        return skipCount;
+    }
+
+    public void setSkipCount(boolean skipCount) {
+
+        this.skipCount = skipCount;
+    }
 }
@@ -129,4 +129,32 @@ class XPageTest {
         zeroSize.setTotalCount(50);
         assertThat(zeroSize.getHasNext()).isFalse();
     }
+
+    @Test
+    @DisplayName("getHasNext: keyset 페이지는 nextCursor 가 있으면 true다")
+    void getHasNext_withNextCursor() {
+        XPage<String> page = new XPage<>();
+        page.setSize(20);
+        page.setNextCursor("abc");
+
+        assertThat(page.getHasNext()).isTrue();
+
+        page.setNextCursor(null);
+        assertThat(page.getHasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("getHasNext: COUNT 를 생략한 페이지는 지정된 hasNext 를 따른다")
+    void getHasNext_withExplicitFlag() {
+        XPage<String> page = new XPage<>();
+        page.setPage(1);
+        page.setSize(20);
+        page.setHasNext(true);
+
+        assertThat(page.getTotalCount()).isNull();
+        assertThat(page.getHasNext()).isTrue();
+
+        page.setHasNext(false);
+        assertThat(page.getHasNext()).isFalse();
+    }
 }
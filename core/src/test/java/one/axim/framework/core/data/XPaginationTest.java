@@ -101,4 +101,14 @@ class XPaginationTest {
         assertThatThrownBy(() -> pagination.getOrders().add(new XOrder("id", XDirection.ASC)))
                 .isInstanceOf(UnsupportedOperationException.class);
     }
+
+    @Test
+    @DisplayName("cursor: null 이면 offset 모드, 빈 문자열부터는 keyset 모드다")
+    void isCursorMode() {
+        XPagination pagination = new XPagination();
+        assertThat(pagination.isCursorMode()).isFalse();
+
+        pagination.setCursor("");
+        assertThat(pagination.isCursorMode()).isTrue();
+    }
 }
@@ -53,4 +53,14 @@ public @interface XEntity {
      * @return the schema name
      */
     String schema() default "";
+
+    /**
+     * Rewrite paginated {@code findAll}/{@code findWhere} queries with an offset into the
+     * deferred-join form: primary keys are paged first ({@code ORDER BY ... LIMIT} over the index
+     * only) and full rows are joined back for just that page. Useful for large tables paged deep
+     * with arbitrary sort columns. See also {@code axim.mybatis.pagination.deferred-join-offset}.
+     *
+     * @return whether deep pages use a deferred join
+     */
+    boolean deferredJoin() default false;
 }
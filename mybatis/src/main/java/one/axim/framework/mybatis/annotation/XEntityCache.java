@@ -0,0 +1,52 @@
+package one.axim.framework.mybatis.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Enables the read-through primary-key cache for an {@link XEntity}.
+ *
+ * <p>{@code findOne(key)} and {@code exists(key)} on the entity's repository are served from an
+ * in-process cache; {@code save}/{@code insert}/{@code update}/{@code modify}/{@code delete*} and
+ * the batch variants evict the affected keys (again after the surrounding transaction completes).
+ * Writes that bypass the repository (custom mappers, other services) are only picked up when the
+ * entry expires, so keep the TTL short for data that changes elsewhere.</p>
+ *
+ * <h3>Usage</h3>
+ * <pre>{@code
+ * @Data
+ * @XEntity("users")
+ * @XEntityCache(ttl = "5m", maxSize = 50000)
+ * public class User {
+ *     @XColumn(isPrimaryKey = true, isAutoIncrement = true)
+ *     private Long id;
+ *     private String name;
+ * }
+ * }</pre>
+ *
+ * <p>Caching can also be enabled without the annotation through
+ * {@code axim.mybatis.entity-cache.tables}.</p>
+ *
+ * @see XEntity
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface XEntityCache {
+
+    /**
+     * Time to live of a cached row, e.g. {@code 30s} or {@code 5m}. Empty uses
+     * {@code axim.mybatis.entity-cache.ttl} (default 60s).
+     *
+     * @return the time to live
+     */
+    String ttl() default "";
+
+    /**
+     * Maximum cached keys. {@code 0} uses {@code axim.mybatis.entity-cache.max-size} (default 10000).
+     *
+     * @return the maximum number of entries
+     */
+    int maxSize() default 0;
+}
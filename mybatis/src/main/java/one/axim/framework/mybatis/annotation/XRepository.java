@@ -8,7 +8,8 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * Marks an interface as a repository that is auto-implemented by the framework via JDK Proxy.
+ * Marks an interface as a repository that is auto-implemented by the framework via JDK Proxy, or by a
+ * class generated at build time when {@link one.axim.framework.mybatis.processor.XRepositoryProcessor} runs.
  *
  * <p>Repository interfaces must extend {@link one.axim.framework.mybatis.repository.IXRepository IXRepository}
  * to inherit built-in CRUD methods. Custom query methods can be declared using
@@ -0,0 +1,45 @@
+package one.axim.framework.mybatis.aot;
+
+import one.axim.framework.core.data.XPage;
+import one.axim.framework.core.data.XPagination;
+import one.axim.framework.mybatis.mapper.CommonMapper;
+import one.axim.framework.mybatis.model.XMapperParameter;
+import one.axim.framework.mybatis.model.XQueryValue;
+import one.axim.framework.mybatis.plugin.XObjectFactory;
+import one.axim.framework.mybatis.plugin.XResultInterceptor;
+import one.axim.framework.mybatis.provider.CrudSqlProvider;
+import one.axim.framework.mybatis.provider.XCachingLanguageDriver;
+import one.axim.framework.mybatis.repository.Projection;
+import one.axim.framework.mybatis.type.XDataMap;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Native-image hints for the classes MyBatis reaches by reflection: the {@link CommonMapper} proxy and
+ * its provider, language driver and plugins, and the parameter object its OGNL expressions read.
+ * Repository-specific hints come from {@link XRepositoryAotProcessor}.
+ */
+class XMybatisRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.proxies().registerJdkProxy(CommonMapper.class);
+        hints.reflection()
+                .registerType(CommonMapper.class, MemberCategory.INTROSPECT_PUBLIC_METHODS)
+                .registerType(CrudSqlProvider.class,
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .registerType(XCachingLanguageDriver.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(XObjectFactory.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(XResultInterceptor.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(XMapperParameter.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS)
+                .registerType(XQueryValue.class,
+                        MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS)
+                .registerType(Projection.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                XPage.class, XPagination.class, XDataMap.class);
+    }
+}
@@ -0,0 +1,84 @@
+package one.axim.framework.mybatis.aot;
+
+import one.axim.framework.mybatis.proxy.XRepositoryProxyFactoryBean;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers native-image hints for every repository {@code XRepositoryBeanScanner} found while the
+ * application was processed ahead of time.
+ *
+ * <p>The scanned bean definitions are written out as code by Spring AOT, so at runtime the
+ * repositories are registered without a classpath scan. What remains reflective at runtime is
+ * covered here: the JDK proxy (or the constructor of the class {@code XRepositoryProcessor}
+ * generated), the entity hierarchy read by {@code EntityMetadataFactory} and MyBatis, and the
+ * key and projection types of the repository methods.</p>
+ */
+class XRepositoryAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    private record Repository(Class<?> repositoryInterface, Class<?> keyClass, Class<?> modelClass) {
+    }
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        List<Repository> repositories = new ArrayList<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (!XRepositoryProxyFactoryBean.class.getName().equals(definition.getBeanClassName())) {
+                continue;
+            }
+            // XRepositoryBeanScanner 가 넣은 (interface, key, model) 생성자 인자
+            List<ConstructorArgumentValues.ValueHolder> args =
+                    definition.getConstructorArgumentValues().getGenericArgumentValues();
+            if (args.size() == 3) {
+                repositories.add(new Repository((Class<?>) args.get(0).getValue(),
+                        (Class<?>) args.get(1).getValue(), (Class<?>) args.get(2).getValue()));
+            }
+        }
+        if (repositories.isEmpty()) {
+            return null;
+        }
+        return (generationContext, code) -> {
+            RuntimeHints hints = generationContext.getRuntimeHints();
+            for (Repository repository : repositories) {
+                registerHints(hints, repository);
+            }
+        };
+    }
+
+    private void registerHints(RuntimeHints hints, Repository repository) {
+        Class<?> repositoryInterface = repository.repositoryInterface();
+        hints.proxies().registerJdkProxy(repositoryInterface);
+        hints.reflection().registerType(repositoryInterface, MemberCategory.INTROSPECT_PUBLIC_METHODS);
+
+        String generated = repositoryInterface.getName().replace('$', '_') + XRepositoryProxyFactoryBean.GENERATED_SUFFIX;
+        if (ClassUtils.isPresent(generated, repositoryInterface.getClassLoader())) {
+            hints.reflection().registerType(TypeReference.of(generated), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+
+        // @XEntity/@XColumn 은 상위 클래스 필드까지 읽는다
+        for (Class<?> type = repository.modelClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        bindings.registerReflectionHints(hints.reflection(), repository.keyClass(), repository.modelClass());
+        for (Method method : repositoryInterface.getMethods()) {
+            // 파생 메서드의 record/DTO projection 포함
+            bindings.registerReflectionHints(hints.reflection(), method.getGenericReturnType());
+        }
+    }
+}
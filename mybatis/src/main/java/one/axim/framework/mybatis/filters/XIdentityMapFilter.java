@@ -0,0 +1,35 @@
+package one.axim.framework.mybatis.filters;
+
+import one.axim.framework.mybatis.proxy.XIdentityMap;
+import one.axim.framework.mybatis.repository.XRepositoryConfig;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Opens an {@link XIdentityMap} scope around each request when
+ * {@code axim.mybatis.identity-map.scope=request}.
+ */
+@Component
+public class XIdentityMapFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return XRepositoryConfig.getIdentityMapScope() != XRepositoryConfig.IdentityMapScope.REQUEST;
+    }
+
+    @Override
+    @SuppressWarnings("try") // scope 는 닫히기만 하면 되고 본문에서 참조하지 않는다
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        try (XIdentityMap.Scope scope = XIdentityMap.open()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -2,54 +2,101 @@ package one.axim.framework.mybatis.mapper;
 
 import one.axim.framework.mybatis.model.XMapperParameter;
 import one.axim.framework.mybatis.provider.CrudSqlProvider;
+import one.axim.framework.mybatis.provider.XCachingLanguageDriver;
 import org.apache.ibatis.annotations.DeleteProvider;
 import org.apache.ibatis.annotations.InsertProvider;
+import org.apache.ibatis.annotations.Lang;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.SelectKey;
 import org.apache.ibatis.annotations.SelectProvider;
 import org.apache.ibatis.annotations.UpdateProvider;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.context.annotation.Primary;
 
 import java.util.List;
 
+/**
+ * Generic CRUD mapper shared by every {@code @XRepository} proxy.
+ *
+ * <p>SQL comes from {@link CrudSqlProvider}; every statement uses {@link XCachingLanguageDriver}
+ * so the provider's {@code <script>} templates are parsed once instead of on every call.</p>
+ */
 @Primary
 @Mapper
 public interface CommonMapper {
 
     @InsertProvider(type = CrudSqlProvider.class, method = "insert")
+    @Lang(XCachingLanguageDriver.class)
     @SelectKey(statement = "SELECT LAST_INSERT_ID()", keyProperty = "lastInsertedId", before = false, resultType = Long.class)
     Long insertAndSelectKey(XMapperParameter model);
 
     @InsertProvider(type = CrudSqlProvider.class, method = "insert")
+    @Lang(XCachingLanguageDriver.class)
     Long insert(XMapperParameter model);
 
     @InsertProvider(type = CrudSqlProvider.class, method = "upsert")
+    @Lang(XCachingLanguageDriver.class)
     int upsert(XMapperParameter model);
 
+    @InsertProvider(type = CrudSqlProvider.class, method = "upsertAll")
+    @Lang(XCachingLanguageDriver.class)
+    int upsertAll(XMapperParameter model);
+
+    @InsertProvider(type = CrudSqlProvider.class, method = "upsertAllNonNull")
+    @Lang(XCachingLanguageDriver.class)
+    int upsertAllNonNull(XMapperParameter model);
+
     @InsertProvider(type = CrudSqlProvider.class, method = "insertAll")
+    @Lang(XCachingLanguageDriver.class)
     Long insertAll(XMapperParameter model);
 
+    @InsertProvider(type = CrudSqlProvider.class, method = "insertIgnore")
+    @Lang(XCachingLanguageDriver.class)
+    int insertIgnore(XMapperParameter model);
+
     @DeleteProvider(type = CrudSqlProvider.class, method = "delete")
+    @Lang(XCachingLanguageDriver.class)
     int delete(XMapperParameter model);
 
     @UpdateProvider(type = CrudSqlProvider.class, method = "update")
+    @Lang(XCachingLanguageDriver.class)
     int update(XMapperParameter model);
 
     @UpdateProvider(type = CrudSqlProvider.class, method = "selectiveUpdate")
+    @Lang(XCachingLanguageDriver.class)
     int selectiveUpdate(XMapperParameter model);
 
     @SelectProvider(type = CrudSqlProvider.class, method = "findById")
+    @Lang(XCachingLanguageDriver.class)
     <T> T findById(XMapperParameter model);
 
+    @SelectProvider(type = CrudSqlProvider.class, method = "findByIds")
+    @Lang(XCachingLanguageDriver.class)
+    <T> List<T> findByIds(XMapperParameter model);
+
     @SelectProvider(type = CrudSqlProvider.class, method = "findOneBy")
+    @Lang(XCachingLanguageDriver.class)
     <T> T findOneBy(XMapperParameter model);
 
     @SelectProvider(type = CrudSqlProvider.class, method = "count")
+    @Lang(XCachingLanguageDriver.class)
     long count(XMapperParameter model);
 
     @SelectProvider(type = CrudSqlProvider.class, method = "findAll")
+    @Lang(XCachingLanguageDriver.class)
     <T> List<T> findAll(XMapperParameter model);
 
     @SelectProvider(type = CrudSqlProvider.class, method = "findWhere")
+    @Lang(XCachingLanguageDriver.class)
     <T> List<T> findWhere(XMapperParameter model);
+
+    /** {@link #findAll} as a {@link Cursor}; the session must stay open while it is read. */
+    @SelectProvider(type = CrudSqlProvider.class, method = "findAll")
+    @Lang(XCachingLanguageDriver.class)
+    <T> Cursor<T> streamAll(XMapperParameter model);
+
+    /** {@link #findWhere} as a {@link Cursor}; the session must stay open while it is read. */
+    @SelectProvider(type = CrudSqlProvider.class, method = "findWhere")
+    @Lang(XCachingLanguageDriver.class)
+    <T> Cursor<T> streamWhere(XMapperParameter model);
 }
\ No newline at end of file
@@ -5,18 +5,23 @@ import lombok.Getter;
 
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 @Getter
 @Builder
 public class ColumnMetadata {
     private final String fieldName;
     private final String columnName;
+    private final int ordinal;               // EntityMetadata.getColumns() 내 위치 (0-based)
     private final boolean isPrimaryKey;
     private final boolean isAutoIncrement;
     private final boolean isInsertable;
     private final boolean isUpdatable;
     private final PropertyDescriptor propertyDescriptor;
     private final Field field;
+    private final Function<Object, Object> reader;   // getter — LambdaMetafactory 로 한 번만 생성
+    private final BiConsumer<Object, Object> writer; // setter — 읽기 전용 프로퍼티면 null
 
     // @XDefaultValue support
     private final String defaultValue;       // INSERT 시 사용할 기본값 (empty = 없음)
@@ -24,6 +29,25 @@ public class ColumnMetadata {
     private final boolean isDBDefaultUsed;   // true → INSERT 에서 컬럼 생략 (DB DEFAULT 사용)
     private final boolean isDBValue;         // true → 값이 DB 표현식 (NOW() 등), false → 문자열 리터럴
 
+    /**
+     * 엔티티에서 이 컬럼의 프로퍼티 값을 읽는다.
+     */
+    public Object getValue(Object model) {
+        return reader.apply(model);
+    }
+
+    /**
+     * 엔티티에 이 컬럼의 프로퍼티 값을 쓴다.
+     *
+     * @throws IllegalStateException 프로퍼티에 setter 가 없을 때
+     */
+    public void setValue(Object model, Object value) {
+        if (writer == null) {
+            throw new IllegalStateException("No setter for " + fieldName);
+        }
+        writer.accept(model, value);
+    }
+
     /**
      * INSERT 시 #{model.field} 대신 사용할 값을 반환.
      * null 이면 일반 파라미터 바인딩 사용.
@@ -2,9 +2,14 @@ package one.axim.framework.mybatis.meta;
 
 import one.axim.framework.mybatis.exception.XBuilderInvalidModelException;
 import lombok.Getter;
+import org.springframework.beans.BeanUtils;
 
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Getter
@@ -17,6 +22,10 @@ public class EntityMetadata {
     private final List<ColumnMetadata> primaryKeyColumns;
     private final List<ColumnMetadata> insertableColumns;
     private final List<ColumnMetadata> updatableColumns;
+    /** Composite key class no-arg constructor; null for single-column keys or without such a constructor. */
+    private final Supplier<Object> keyFactory;
+    /** Composite key class setters, aligned with {@link #primaryKeyColumns}; entries are null without a setter. */
+    private final List<BiConsumer<Object, Object>> keyWriters;
 
     public EntityMetadata(Class<?> modelClass, Class<?> keyClass, String tableName, Map<String, ColumnMetadata> columns) {
         this.modelClass = modelClass;
@@ -36,9 +45,36 @@ public class EntityMetadata {
         if (this.primaryKeyColumns.isEmpty()) {
             throw new XBuilderInvalidModelException("Entity " + modelClass.getName() + " must have at least one @XColumn(isPrimaryKey = true)");
         }
+
+        if (keyClass != null && this.primaryKeyColumns.size() > 1) {
+            // 복합키 객체는 multi-get, entity cache, identity map 에서 맵 키로 쓰인다
+            if (inheritsObjectMethod(keyClass, "equals", Object.class) || inheritsObjectMethod(keyClass, "hashCode")) {
+                throw new XBuilderInvalidModelException("Composite key class " + keyClass.getName()
+                        + " of entity " + modelClass.getName() + " must override equals and hashCode");
+            }
+            List<BiConsumer<Object, Object>> writers = new ArrayList<>(this.primaryKeyColumns.size());
+            for (ColumnMetadata pkColumn : this.primaryKeyColumns) {
+                PropertyDescriptor keyPd = BeanUtils.getPropertyDescriptor(keyClass, pkColumn.getFieldName());
+                writers.add(keyPd == null ? null : XPropertyAccessors.setter(keyPd.getWriteMethod()));
+            }
+            this.keyFactory = XPropertyAccessors.constructor(keyClass);
+            this.keyWriters = writers;
+        } else {
+            this.keyFactory = null;
+            this.keyWriters = List.of();
+        }
     }
 
     public ColumnMetadata getColumn(String fieldName) {
         return columns.get(fieldName);
     }
+
+    private static boolean inheritsObjectMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes).getDeclaringClass() == Object.class;
+        } catch (NoSuchMethodException e) {
+            // 인터페이스는 Object 메서드를 선언하지 않으면 찾을 수 없다 — 구현체에 맡긴다
+            return false;
+        }
+    }
 }
@@ -89,12 +89,15 @@ public class EntityMetadataFactory {
             columnMetadataMap.put(fieldName, ColumnMetadata.builder()
                     .fieldName(fieldName)
                     .columnName(columnName)
+                    .ordinal(columnMetadataMap.size())
                     .isPrimaryKey(isPrimaryKey)
                     .isAutoIncrement(isAutoIncrement)
                     .isInsertable(isInsertable)
                     .isUpdatable(isUpdatable)
                     .propertyDescriptor(pd)
                     .field(field)
+                    .reader(XPropertyAccessors.getter(pd.getReadMethod()))
+                    .writer(XPropertyAccessors.setter(pd.getWriteMethod()))
                     .defaultValue(defaultValue)
                     .defaultUpdateValue(defaultUpdateValue)
                     .isDBDefaultUsed(isDBDefaultUsed)
@@ -0,0 +1,135 @@
+package one.axim.framework.mybatis.meta;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Builds getter/setter/constructor functions once per entity property with {@link LambdaMetafactory},
+ * so per-row access is a plain interface call instead of {@code Method.invoke}.
+ *
+ * <p>Primitive properties are boxed/unboxed by the generated lambda. When the class cannot be
+ * accessed through a private lookup (e.g. a named module that does not open the package), the
+ * functions fall back to reflection.</p>
+ */
+final class XPropertyAccessors {
+
+    private static final Logger log = LoggerFactory.getLogger(XPropertyAccessors.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private XPropertyAccessors() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> getter(Method readMethod) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(readMethod.getDeclaringClass(), LOOKUP);
+            MethodHandle handle = lookup.unreflect(readMethod);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(boxed(readMethod.getReturnType()), readMethod.getDeclaringClass()));
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            fallBack(readMethod.getDeclaringClass(), readMethod.getName(), e);
+            return target -> invoke(readMethod, target);
+        }
+    }
+
+    /**
+     * @return the setter function, or {@code null} when the property is read-only
+     */
+    @SuppressWarnings("unchecked")
+    static BiConsumer<Object, Object> setter(Method writeMethod) {
+        if (writeMethod == null) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(writeMethod.getDeclaringClass(), LOOKUP);
+            MethodHandle handle = lookup.unreflect(writeMethod);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(void.class, writeMethod.getDeclaringClass(),
+                            boxed(writeMethod.getParameterTypes()[0])));
+            return (BiConsumer<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            fallBack(writeMethod.getDeclaringClass(), writeMethod.getName(), e);
+            return (target, value) -> invoke(writeMethod, target, value);
+        }
+    }
+
+    /**
+     * @return a factory calling the class's no-arg constructor, or {@code null} when it has none
+     */
+    @SuppressWarnings("unchecked")
+    static Supplier<Object> constructor(Class<?> type) {
+        Constructor<?> constructor;
+        try {
+            constructor = type.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, LOOKUP);
+            MethodHandle handle = lookup.unreflectConstructor(constructor);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    handle,
+                    MethodType.methodType(type));
+            return (Supplier<Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            fallBack(type, "<init>", e);
+            constructor.setAccessible(true);
+            return () -> {
+                try {
+                    return constructor.newInstance();
+                } catch (ReflectiveOperationException ex) {
+                    throw new IllegalStateException("Could not instantiate " + type.getName(), ex);
+                }
+            };
+        }
+    }
+
+    /**
+     * Lets JVM errors (out of memory, stack overflow) through; anything else only costs reflection speed.
+     */
+    private static void fallBack(Class<?> type, String member, Throwable e) {
+        if (e instanceof VirtualMachineError error) {
+            throw error;
+        }
+        log.debug("Using reflection for {}.{}: {}", type.getName(), member, e.toString());
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Could not invoke " + method, e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not invoke " + method, e);
+        }
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+}
@@ -1,6 +1,7 @@
 package one.axim.framework.mybatis.model;
 
 import one.axim.framework.core.data.XPagination;
+import one.axim.framework.mybatis.repository.Projection;
 import one.axim.framework.mybatis.utils.XPaginationSql;
 
 /**
@@ -22,6 +23,11 @@ public class XMapperParameter {
 
     private String customQuery;
 
+    private Projection projection;
+
+    /** JDBC fetch size for this call; {@code null} keeps the statement's own. */
+    private Integer fetchSize;
+
     public XMapperParameter() {
 
     }
@@ -107,4 +113,20 @@ public class XMapperParameter {
     public void setCustomQuery(String customQuery) {
         this.customQuery = customQuery;
     }
+
+    public Projection getProjection() {
+        return projection;
+    }
+
+    public void setProjection(Projection projection) {
+        this.projection = projection;
+    }
+
+    public Integer getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(Integer fetchSize) {
+        this.fetchSize = fetchSize;
+    }
 }
@@ -0,0 +1,144 @@
+package one.axim.framework.mybatis.plugin;
+
+import one.axim.framework.mybatis.repository.XRepositoryConfig;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * TTL-bounded cache of pagination COUNT results.
+ *
+ * <p>Entries are keyed by the whitespace-normalized count SQL plus its bound parameter values, so
+ * paging through the same filter reuses one COUNT for {@code axim.mybatis.pagination.count-cache-ttl}.
+ * Writes through {@code IXRepository} call {@link #invalidate(String)} with the entity's table, which
+ * drops every entry whose SQL mentions that table, again when the surrounding transaction completes,
+ * and keeps COUNTs over that table that were running at that moment from being stored. Writes from
+ * custom mappers are not tracked; their staleness is bounded by the TTL.</p>
+ *
+ * <p>Inside a read-write Spring transaction the COUNT runs on the transaction's connection and can see
+ * uncommitted rows, so the cache is neither read nor written there.</p>
+ */
+public final class XCountCache {
+
+    private record Key(String sql, List<Object> parameters) {
+    }
+
+    record Entry(int count, boolean approximate, long expiresAt) {
+    }
+
+    private static final Map<Key, Entry> CACHE = new ConcurrentHashMap<>();
+    /** invalidate 된 적 있는 테이블 (소문자, 스키마 제외) → SQL 매칭 패턴과 세대 */
+    private static final Map<String, Table> TABLES = new ConcurrentHashMap<>();
+
+    /** {@code generation} 은 invalidate 마다 증가한다. COUNT 시작 후 바뀌었으면 그 결과는 저장하지 않는다. */
+    private record Table(Pattern pattern, AtomicLong generation) {
+    }
+
+    private XCountCache() {
+    }
+
+    static boolean isEnabled() {
+        return !XRepositoryConfig.getCountCacheTtl().isZero()
+                && !(TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    /**
+     * @return the combined generation of the invalidated tables {@code sql} references, to pass to
+     * {@link #put(String, List, int, boolean, long)} once the COUNT has run
+     */
+    static long generation(String sql) {
+        // 세대는 증가만 하므로 합이 같으면 참조 테이블 중 어느 것도 invalidate 되지 않은 것이다
+        long generation = 0;
+        for (Table table : TABLES.values()) {
+            if (table.pattern().matcher(sql).find()) {
+                generation += table.generation().get();
+            }
+        }
+        return generation;
+    }
+
+    static Entry get(String sql, List<Object> parameters) {
+        Key key = new Key(normalize(sql), parameters);
+        Entry entry = CACHE.get(key);
+        if (entry != null && entry.expiresAt() - System.nanoTime() <= 0) {
+            CACHE.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    static void put(String sql, List<Object> parameters, int count, boolean approximate) {
+        put(sql, parameters, count, approximate, generation(sql));
+    }
+
+    /**
+     * Stores a COUNT unless a table it references was invalidated since {@code generation} was read.
+     */
+    static void put(String sql, List<Object> parameters, int count, boolean approximate, long generation) {
+        if (generation(sql) != generation) {
+            return;
+        }
+        Duration ttl = XRepositoryConfig.getCountCacheTtl();
+        int maxSize = XRepositoryConfig.getCountCacheSize();
+        if (CACHE.size() >= maxSize) {
+            long now = System.nanoTime();
+            CACHE.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+            // 만료 항목만으로 부족하면 임의 순서로 약 10% 를 더 비운다
+            int target = maxSize - Math.max(1, maxSize / 10);
+            Iterator<Key> it = CACHE.keySet().iterator();
+            while (CACHE.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        CACHE.put(new Key(normalize(sql), parameters),
+                new Entry(count, approximate, System.nanoTime() + ttl.toNanos()));
+    }
+
+    /**
+     * Drops cached counts whose SQL references {@code tableName}, now and again once the current
+     * transaction (if any) completes, so counts read by other threads before the commit do not
+     * outlive it.
+     *
+     * @param tableName table name as in entity metadata, optionally schema-qualified and back-quoted
+     */
+    public static void invalidate(String tableName) {
+        evict(tableName);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(tableName);
+                }
+            });
+        }
+    }
+
+    private static void evict(String tableName) {
+        String name = tableName.replace("`", "");
+        name = name.substring(name.lastIndexOf('.') + 1);
+        Table table = TABLES.computeIfAbsent(name.toLowerCase(), key -> new Table(
+                Pattern.compile("(?<![\\w$])" + Pattern.quote(key) + "(?![\\w$])", Pattern.CASE_INSENSITIVE),
+                new AtomicLong()));
+        table.generation().incrementAndGet();
+        if (!CACHE.isEmpty()) {
+            CACHE.keySet().removeIf(key -> table.pattern().matcher(key.sql()).find());
+        }
+    }
+
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    private static String normalize(String sql) {
+        return sql.trim().replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,83 @@
+package one.axim.framework.mybatis.plugin;
+
+import one.axim.framework.mybatis.repository.XRepositoryConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads for {@code axim.mybatis.pagination.parallel-count}.
+ *
+ * <p>{@link XResultInterceptor} is usually registered in {@code mybatis-config.xml} and is not a
+ * Spring bean, so the pool is held here and shut down with this bean. It has
+ * {@code axim.mybatis.pagination.count-threads} threads and queues at most as many tasks; beyond
+ * that {@link #submit} rejects and the caller counts on its own connection. Idle threads exit, so
+ * a pool created outside a Spring context does not linger.</p>
+ */
+@Component
+public class XCountExecutor implements DisposableBean {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static volatile ThreadPoolExecutor executor;
+
+    /**
+     * XRepositoryConfig 를 주입받아 정적 설정이 먼저 읽히도록 한다.
+     */
+    public XCountExecutor(XRepositoryConfig config) {
+    }
+
+    /**
+     * @throws RejectedExecutionException when all threads are busy and the queue is full
+     */
+    static <T> Future<T> submit(Callable<T> task) {
+        return executor().submit(task);
+    }
+
+    /** Stops the pool; running COUNTs are interrupted. A later {@link #submit} starts a new pool. */
+    public static void shutdown() {
+        ThreadPoolExecutor current;
+        synchronized (XCountExecutor.class) {
+            current = executor;
+            executor = null;
+        }
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        shutdown();
+    }
+
+    private static ThreadPoolExecutor executor() {
+        ThreadPoolExecutor current = executor;
+        if (current == null) {
+            synchronized (XCountExecutor.class) {
+                current = executor;
+                if (current == null) {
+                    int threads = XRepositoryConfig.getCountThreads();
+                    AtomicInteger sequence = new AtomicInteger();
+                    current = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(threads), runnable -> {
+                                Thread thread = new Thread(runnable,
+                                        "axim-pagination-count-" + sequence.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            }, new ThreadPoolExecutor.AbortPolicy());
+                    current.allowCoreThreadTimeOut(true);
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,75 @@
+package one.axim.framework.mybatis.plugin;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link XSqlMetrics.Recorder} backed by Micrometer.
+ *
+ * <ul>
+ *   <li>{@code axim.mybatis.sql} — timer with a percentile histogram, tagged {@code entity},
+ *       {@code operation}, {@code phase}, {@code outcome} ({@code SUCCESS}/{@code ERROR}) and
+ *       {@code exception} (simple class name, {@code none} on success)</li>
+ *   <li>{@code axim.mybatis.sql.rows} — rows returned or affected, tagged {@code entity},
+ *       {@code operation} and {@code phase}</li>
+ * </ul>
+ *
+ * <p>Success meters are registered once per tag combination and kept, so after the first call a
+ * measurement is one map lookup and two meter updates.</p>
+ */
+public class XMicrometerSqlMetrics implements XSqlMetrics.Recorder {
+
+    public static final String TIMER_NAME = "axim.mybatis.sql";
+    public static final String ROWS_NAME = "axim.mybatis.sql.rows";
+
+    private record Key(XSqlMetrics.Target target, String phase) {
+    }
+
+    private record Meters(Timer timer, DistributionSummary rows) {
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Key, Meters> meters = new ConcurrentHashMap<>();
+
+    public XMicrometerSqlMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void record(XSqlMetrics.Target target, String phase, long nanos, long rows, Throwable error) {
+        if (error != null) {
+            timer(target, phase, "ERROR", error.getClass().getSimpleName()).record(nanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        Meters success = meters.computeIfAbsent(new Key(target, phase), key -> new Meters(
+                timer(target, phase, "SUCCESS", "none"),
+                DistributionSummary.builder(ROWS_NAME)
+                        .description("Rows returned or affected per statement")
+                        .baseUnit("rows")
+                        .tag("entity", target.entity())
+                        .tag("operation", target.operation())
+                        .tag("phase", phase)
+                        .register(registry)));
+        success.timer().record(nanos, TimeUnit.NANOSECONDS);
+        if (rows >= 0) {
+            success.rows().record(rows);
+        }
+    }
+
+    private Timer timer(XSqlMetrics.Target target, String phase, String outcome, String exception) {
+        return Timer.builder(TIMER_NAME)
+                .description("SQL statements run through XResultInterceptor")
+                .tag("entity", target.entity())
+                .tag("operation", target.operation())
+                .tag("phase", phase)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
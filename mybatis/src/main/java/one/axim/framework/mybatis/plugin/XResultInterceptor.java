@@ -1,51 +1,68 @@
 package one.axim.framework.mybatis.plugin;
 
+import one.axim.framework.core.data.XDirection;
+import one.axim.framework.core.data.XOrder;
 import one.axim.framework.core.data.XPage;
 import one.axim.framework.core.data.XPagination;
+import one.axim.framework.core.utils.NamingConvert;
+import one.axim.framework.mybatis.annotation.XEntity;
+import one.axim.framework.mybatis.meta.ColumnMetadata;
+import one.axim.framework.mybatis.meta.EntityMetadata;
+import one.axim.framework.mybatis.meta.EntityMetadataFactory;
 import one.axim.framework.mybatis.model.XMapperParameter;
 import one.axim.framework.mybatis.repository.XRepositoryConfig;
 import one.axim.framework.mybatis.utils.ColumnSpec;
+import one.axim.framework.mybatis.utils.XCursorCodec;
 import one.axim.framework.mybatis.utils.XPaginationSql;
 
 import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.plugin.Intercepts;
 import org.apache.ibatis.plugin.Invocation;
 import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
 import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.binding.MapperMethod;
 import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
+import javax.sql.DataSource;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Date;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Created by dudgh on 2017. 5. 30..
@@ -53,6 +70,8 @@ import java.util.regex.Pattern;
 @Intercepts(
         {@Signature(type = Executor.class, method = "query", args =
                 {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+                @Signature(type = Executor.class, method = "queryCursor", args =
+                        {MappedStatement.class, Object.class, RowBounds.class}),
                 @Signature(type = Executor.class, method = "update", args =
                         {MappedStatement.class, Object.class})})
 public class XResultInterceptor implements Interceptor {
@@ -61,12 +80,25 @@ public class XResultInterceptor implements Interceptor {
     private static final int PARAMETER_INDEX = 1;
     private static final int ROWBOUNDS_INDEX = 2;
     private static final int RESULT_HANDLER_INDEX = 3;
-    static final java.time.format.DateTimeFormatter dtFormat =
-            java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final Map<String, Class<?>> RETURN_TYPE_CACHE = new ConcurrentHashMap<>();
     private static final Map<String, Boolean> GENERIC_RETURN_CACHE = new ConcurrentHashMap<>();
+    private static final EntityMetadataFactory METADATA_FACTORY = new EntityMetadataFactory();
     private final Logger log = LoggerFactory.getLogger(XResultInterceptor.class);
 
+    /**
+     * 결과 타입 교체·fetchSize·페이지 템플릿으로 만든 MappedStatement 캐시. 원본 MappedStatement
+     * 인스턴스(identity) 기준이라 구성이 여러 개여도 섞이지 않는다.
+     */
+    private final Map<StatementKey, MappedStatement> derivedStatements = new ConcurrentHashMap<>();
+
+    private record StatementKey(MappedStatement source, Class<?> resultType, Integer fetchSize,
+                                boolean keepOriginalResultMap, boolean page) {
+    }
+
+    /** 페이지네이션 전체 건수. {@code approximate} 면 EXPLAIN 추정치다. */
+    private record PageCount(int total, boolean approximate) {
+    }
+
     @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
     public Object intercept(Invocation invocation) throws Throwable {
@@ -78,12 +110,15 @@ public class XResultInterceptor implements Interceptor {
 
         log.debug("XResultInterceptor: Intercepting method: " + mappedStatement.getId());
 
+        // 측정이 꺼져 있으면 null — 병렬 COUNT 스레드에서도 쓰도록 호출 스레드에서 정한다
+        XSqlMetrics.Target target = XSqlMetrics.target(mappedStatement);
+
         if (!mappedStatement.getSqlCommandType().name().equals("SELECT")) {
             if (XRepositoryConfig.isDebug()) {
-                String query = getQueryString(mappedStatement, queryArgs[PARAMETER_INDEX]);
+                String query = renderQuery(mappedStatement, queryArgs[PARAMETER_INDEX]);
                 log.info("XQUERY ==> \n" + query);
             }
-            return invocation.proceed();
+            return proceedMeasured(invocation, target, XSqlMetrics.PHASE_UPDATE);
         }
 
 
@@ -102,6 +137,9 @@ public class XResultInterceptor implements Interceptor {
         //
         // Without clause (a) we would attempt to map a SELECT result to a scalar,
         // which is never the intent of setResultClass().
+        //
+        // Repository reads run XEntityMapper's per-entity statements, whose ResultMap already has
+        // the entity type, so the swap only applies to direct CommonMapper calls.
         if (parameter instanceof XMapperParameter xMapperParameter) {
             ResultMap resultMap = mappedStatement.getResultMaps().get(0);
             Class<?> declaredResult = xMapperParameter.getResultClass();
@@ -114,12 +152,20 @@ public class XResultInterceptor implements Interceptor {
                             && mapperReturnsGenericType(mappedStatement.getId());
 
             if (needsSwap) {
-                MappedStatement newMs =
-                        copyFromMappedStatement(mappedStatement, mappedStatement.getSqlSource(), resultMap,
-                                declaredResult);
+                // Cursor 는 ResultMap 을 하나만 허용하므로 원본 ResultMap 을 뒤에 덧붙이지 않는다
+                boolean cursorQuery = "queryCursor".equals(invocation.getMethod().getName());
+                MappedStatement newMs = resultTypeStatement(mappedStatement, declaredResult, !cursorQuery);
                 queryArgs[MAPPED_STATEMENT_INDEX] = newMs;
                 mappedStatement = newMs; // Use the new MappedStatement
             }
+
+            // streamAll/streamWhere 는 호출 단위로 fetchSize 를 지정한다 (MySQL 행 스트리밍은 Integer.MIN_VALUE)
+            Integer fetchSize = xMapperParameter.getFetchSize();
+            if (fetchSize != null && !fetchSize.equals(mappedStatement.getFetchSize())) {
+                MappedStatement newMs = fetchSizeStatement(mappedStatement, fetchSize);
+                queryArgs[MAPPED_STATEMENT_INDEX] = newMs;
+                mappedStatement = newMs;
+            }
         }
 
         // Handle pagination
@@ -134,11 +180,25 @@ public class XResultInterceptor implements Interceptor {
             final BoundSql boundSql = mappedStatement.getBoundSql(paramForBoundSql);
             String query = boundSql.getSql().trim().replaceAll(";$", "");
 
-            Executor executor = (Executor) invocation.getTarget();
-            Connection connection = executor.getTransaction().getConnection();
-            int total = getCount(query, connection, mappedStatement, paramForBoundSql, boundSql);
+            if (pagination.isCursorMode()) {
+                return keysetPage(invocation, mappedStatement, parameter, pagination, boundSql, query, target);
+            }
+
+            // skipCount 면 COUNT 없이 size + 1 행을 읽어 다음 페이지 여부만 판단한다
+            boolean skipCount = pagination.isSkipCount();
+
+            // 병렬 COUNT 가 켜져 있으면 별도 커넥션에서 COUNT 를 돌리는 동안 페이지 쿼리를 실행한다
+            ParallelCount parallelCount = skipCount
+                    ? null
+                    : submitParallelCount(query, mappedStatement, paramForBoundSql, boundSql, target);
+            PageCount total = null;
+            if (!skipCount && parallelCount == null) {
+                total = countPage(query, callerConnection(invocation), mappedStatement, paramForBoundSql,
+                        boundSql, target);
+            }
 
-            if (total > 0) {
+            Object result = new ArrayList<>(); // empty list
+            if (skipCount || parallelCount != null || total.total() > 0) {
                 // 호출자 SQL 에 이미 최상위 ORDER BY 가 있는데 명시 정렬까지 덧붙이면
                 //   "... ORDER BY a DESC ORDER BY b DESC LIMIT 20" 이 되어 SQL 문법 오류가 난다.
                 //   명시 정렬이 있으면 호출자 ORDER BY 를 제거하고 대체한다(사용자 정렬 우선).
@@ -148,77 +208,494 @@ public class XResultInterceptor implements Interceptor {
                         ? query
                         : XPaginationSql.stripTrailingOrderBy(query);
 
-                StringBuilder queryBuilder = new StringBuilder(baseQuery);
-                queryBuilder.append(orderClause);
-                queryBuilder.append(XPaginationSql.limit(pagination));
+                String limitClause = XPaginationSql.limit(pagination, skipCount ? 1 : 0);
+                String limitOrderQuery = deferredJoinQuery(parameter, pagination, baseQuery, orderClause, limitClause);
+                if (limitOrderQuery == null) {
+                    limitOrderQuery = baseQuery + orderClause + limitClause;
+                }
 
                 queryArgs[ROWBOUNDS_INDEX] = new RowBounds(RowBounds.NO_ROW_OFFSET, RowBounds.NO_ROW_LIMIT);
 
-                String limitOrderQuery = queryBuilder.toString();
+                queryArgs[MAPPED_STATEMENT_INDEX] = pageStatement(mappedStatement,
+                        pageResultType(mappedStatement, parameter));
 
-                if (mappedStatement.getResultMaps().get(0).getType().equals(XPage.class)) {
-                    Class resultType = parameterInResultType(parameter);
-
-                    if (resultType == null) {
-                        resultType = resolveReturnTypeFromMethod(mappedStatement.getId());
-                    }
+                if (XRepositoryConfig.isDebug()) {
+                    log.info("QUERY====>\n\n" + limitOrderQuery + "\n");
+                }
 
-                    if (resultType == null) {
-                        log.error("Not found Result Parameter Class ");
+                try {
+                    result = proceedWithBoundSql(invocation,
+                            copyFromBoundSql(mappedStatement, boundSql, limitOrderQuery), target);
+                } catch (Throwable t) {
+                    if (parallelCount != null) {
+                        parallelCount.abandon();
                     }
+                    throw t;
+                }
+            }
 
-                    queryArgs[MAPPED_STATEMENT_INDEX] =
-                            copyFromNewSql(mappedStatement, boundSql, limitOrderQuery, resultType);
-                } else {
-                    queryArgs[MAPPED_STATEMENT_INDEX] =
-                            copyFromNewSql(mappedStatement, boundSql, limitOrderQuery, null);
+            if (parallelCount != null) {
+                total = awaitCount(parallelCount);
+                if (total == null) {
+                    // COUNT 작업이 제때 커넥션을 얻지 못했다 — 호출자 커넥션에서 순차 실행
+                    total = countPage(query, callerConnection(invocation), mappedStatement, paramForBoundSql,
+                            boundSql, target);
                 }
+            }
 
-                if (XRepositoryConfig.isDebug()) {
-                    log.info("QUERY====>\n\n" + limitOrderQuery + "\n");
+            XPage<Object> page = new XPage<>();
+            page.setOffset(pagination.getOffset());
+            page.setSize(pagination.getSize());
+            page.setOrders(pagination.getOrders());
+            page.setPageRowsByObject(result);
+            page.setPage(pagination.getPage());
+
+            if (skipCount) {
+                List<Object> rows = page.getPageRows();
+                int size = XPaginationSql.pageSize(pagination);
+                boolean more = pagination.hasLimit() && rows != null && rows.size() > size;
+                if (more) {
+                    page.setPageRows(new ArrayList<>(rows.subList(0, size)));
+                }
+                page.setHasNext(more);
+            } else {
+                page.setTotalCount(total.total());
+                if (total.approximate()) {
+                    page.setTotalCountApproximate(true);
                 }
+            }
+
+            List<XPage<?>> tmp = new ArrayList<>(1);
+            tmp.add(page);
+            return tmp;
+        }
+
+        if (XRepositoryConfig.isDebug()) {
+            String query = renderQuery(mappedStatement, queryArgs[PARAMETER_INDEX]);
+            log.info("XQUERY ==> \n" + query);
+        }
 
-                Object result = invocation.proceed();
+        return proceedMeasured(invocation, target, "queryCursor".equals(invocation.getMethod().getName())
+                ? XSqlMetrics.PHASE_CURSOR : XSqlMetrics.PHASE_QUERY);
+    }
 
-                XPage<Object> page = new XPage<>();
-                page.setTotalCount(total);
-                page.setOffset(pagination.getOffset());
-                page.setSize(pagination.getSize());
-                page.setOrders(pagination.getOrders());
-                page.setPageRowsByObject(result);
-                page.setPage(pagination.getPage());
+    private Object proceedMeasured(Invocation invocation, XSqlMetrics.Target target, String phase) throws Throwable {
 
-                List<XPage<?>> tmp = new ArrayList<>(1);
-                tmp.add(page);
-                return tmp;
-            } else {
-                XPage<Object> page = new XPage<>();
-                page.setTotalCount(total);
-                page.setOffset(pagination.getOffset());
-                page.setSize(pagination.getSize());
-                page.setOrders(pagination.getOrders());
-                page.setPageRowsByObject(new ArrayList<>()); // empty list
-                page.setPage(pagination.getPage());
+        if (target == null) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        Object result = null;
+        Throwable error = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable t) {
+            // proceed() 는 리플렉션 호출이라 실제 예외가 InvocationTargetException 에 감싸여 온다
+            error = ExceptionUtil.unwrapThrowable(t);
+            throw t;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            XSqlMetrics.record(target, phase, elapsed, error == null ? XSqlMetrics.rows(result) : -1, error);
+            if (XSlowQueryLog.isEnabled() && XSlowQueryLog.shouldLog(elapsed)) {
+                // 느리거나 샘플링된 문장만 SQL 을 다시 꺼낸다 (페이지 템플릿은 아직 ThreadLocal 이 걸려 있다)
+                MappedStatement ms = (MappedStatement) invocation.getArgs()[MAPPED_STATEMENT_INDEX];
+                slowQuery(target, phase, elapsed, ms, ms.getBoundSql(invocation.getArgs()[PARAMETER_INDEX]), null);
+            }
+        }
+    }
+
+    private void slowQuery(XSqlMetrics.Target target, String phase, long elapsed, MappedStatement ms,
+                           BoundSql boundSql, String sql) {
+
+        try {
+            XSlowQueryLog.submit(target, phase, elapsed, sql != null ? sql : boundSql.getSql(),
+                    boundParameterValues(ms, boundSql), ms.getSqlCommandType() == SqlCommandType.SELECT,
+                    ms.getConfiguration().getEnvironment() == null
+                            ? null : ms.getConfiguration().getEnvironment().getDataSource());
+        } catch (RuntimeException e) {
+            log.debug("Could not capture slow query of {}", ms.getId(), e);
+        }
+    }
+
+    /**
+     * 리포지토리의 단일 테이블 페이지 쿼리를 deferred join 으로 바꾼다.
+     *
+     * <p>{@code @XEntity(deferredJoin = true)} 이거나 offset 이
+     * {@code axim.mybatis.pagination.deferred-join-offset} 이상일 때만 적용한다. 명시 정렬이 없거나
+     * 쿼리 모양이 맞지 않으면 {@code null}.
+     */
+    private String deferredJoinQuery(Object parameter, XPagination pagination, String baseQuery,
+                                     String orderClause, String limitClause) {
+
+        if (orderClause.isEmpty() || pagination.getOffset() <= 0
+                || !(parameter instanceof XMapperParameter xMapperParameter)
+                || xMapperParameter.getResultClass() == null) {
+            return null;
+        }
+        XEntity entity = xMapperParameter.getResultClass().getAnnotation(XEntity.class);
+        int threshold = XRepositoryConfig.getDeferredJoinOffset();
+        if (entity == null
+                || !(entity.deferredJoin() || (threshold > 0 && pagination.getOffset() >= threshold))) {
+            return null;
+        }
+        EntityMetadata metadata = METADATA_FACTORY.getMetadata(xMapperParameter.getResultClass(), null);
+        List<String> pkColumns = metadata.getPrimaryKeyColumns().stream()
+                .map(ColumnMetadata::getColumnName)
+                .toList();
+        return XPaginationSql.deferredJoin(baseQuery, metadata.getTableName(), pkColumns, orderClause, limitClause);
+    }
 
-                List<XPage<?>> tmp = new ArrayList<>(1);
-                tmp.add(page);
-                return tmp;
+    /**
+     * keyset(seek) 페이지를 조회한다.
+     *
+     * <p>COUNT 없이 {@code size + 1} 행을 읽어 다음 페이지 존재 여부를 판단하고, 남긴 마지막 행의
+     * 정렬 키 값으로 {@link XPage#getNextCursor()} 를 만든다. 결과 타입이 {@code @XEntity} 이면
+     * 순서를 유일하게 만들기 위해 PK 컬럼을 마지막 정렬 방향으로 덧붙인다.
+     *
+     * <p>정렬 컬럼은 결과 행에서 값을 읽을 수 있어야 하며(select 목록에 포함), NULL 이 없어야 한다.
+     */
+    @SuppressWarnings("unchecked")
+    private Object keysetPage(Invocation invocation, MappedStatement mappedStatement, Object parameter,
+                              XPagination pagination, BoundSql boundSql, String query,
+                              XSqlMetrics.Target target) throws Throwable {
+
+        final Object[] queryArgs = invocation.getArgs();
+        Configuration configuration = mappedStatement.getConfiguration();
+        Class<?> resultType = pageResultType(mappedStatement, parameter);
+        Class<?> rowType = resultType != null ? resultType : mappedStatement.getResultMaps().get(0).getType();
+
+        List<String> columns = new ArrayList<>();
+        List<String> properties = new ArrayList<>();
+        List<XDirection> directions = new ArrayList<>();
+        for (XOrder order : pagination.getOrders()) {
+            // 파생 테이블 바깥에서 정렬하므로 한정자(alias.)를 뗀다
+            String column = XPaginationSql.orderColumn(order);
+            column = column.substring(column.indexOf('.') + 1);
+            columns.add(column);
+            properties.add(NamingConvert.toCamelCase(column));
+            directions.add(order.getDirection() != null ? order.getDirection() : XDirection.ASC);
+        }
+        // PK 외의 정렬 컬럼은 NULL 이 있을 수 있다고 보고 NULL 을 고려한 seek 조건을 만든다
+        Set<String> nullableColumns = new HashSet<>(columns);
+        if (rowType != null && rowType.isAnnotationPresent(XEntity.class)) {
+            XDirection tieBreak = directions.isEmpty() ? XDirection.ASC : directions.get(directions.size() - 1);
+            for (ColumnMetadata pk : METADATA_FACTORY.getMetadata(rowType, null).getPrimaryKeyColumns()) {
+                nullableColumns.remove(pk.getColumnName());
+                if (!columns.contains(pk.getColumnName())) {
+                    columns.add(pk.getColumnName());
+                    properties.add(pk.getFieldName());
+                    directions.add(tieBreak);
+                }
             }
         }
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Cursor pagination requires a sort order or an @XEntity result type: " + mappedStatement.getId());
+        }
+
+        StringBuilder signature = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            signature.append(i == 0 ? "" : ",").append(columns.get(i)).append(' ').append(directions.get(i));
+        }
+        String cursor = pagination.getCursor();
+        List<Object> after = cursor.isEmpty() ? null : XCursorCodec.decode(cursor, signature.toString());
+
+        int size = XPaginationSql.pageSize(pagination);
+        List<Object> binds = new ArrayList<>();
+        String keysetQuery = XPaginationSql.keysetQuery(query, columns, directions, nullableColumns, after,
+                size, binds);
+
+        List<ParameterMapping> mappings = new ArrayList<>(boundSql.getParameterMappings());
+        for (int i = 0; i < binds.size(); i++) {
+            Object value = binds.get(i);
+            mappings.add(new ParameterMapping.Builder(configuration, "__cursor_" + i,
+                    value != null ? value.getClass() : Object.class).build());
+        }
+        BoundSql keysetBoundSql = copyFromBoundSql(mappedStatement, boundSql, keysetQuery, mappings);
+        for (int i = 0; i < binds.size(); i++) {
+            keysetBoundSql.setAdditionalParameter("__cursor_" + i, binds.get(i));
+        }
+
+        queryArgs[ROWBOUNDS_INDEX] = new RowBounds(RowBounds.NO_ROW_OFFSET, RowBounds.NO_ROW_LIMIT);
+        queryArgs[MAPPED_STATEMENT_INDEX] = pageStatement(mappedStatement, resultType);
 
         if (XRepositoryConfig.isDebug()) {
-            String query = getQueryString(mappedStatement, queryArgs[PARAMETER_INDEX]);
-            log.info("XQUERY ==> \n" + query);
+            log.info("QUERY====>\n\n" + keysetQuery + "\n");
+        }
+
+        List<Object> rows = (List<Object>) proceedWithBoundSql(invocation, keysetBoundSql, target);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = new ArrayList<>(rows.subList(0, size));
+            nextCursor = XCursorCodec.encode(signature.toString(),
+                    sortKeyValues(configuration, rows.get(size - 1), columns, properties));
+        }
+
+        XPage<Object> page = new XPage<>();
+        page.setSize(pagination.getSize());
+        page.setOrders(pagination.getOrders());
+        page.setPageRowsByObject(rows);
+        page.setNextCursor(nextCursor);
+
+        List<XPage<?>> tmp = new ArrayList<>(1);
+        tmp.add(page);
+        return tmp;
+    }
+
+    private List<Object> sortKeyValues(Configuration configuration, Object row,
+                                       List<String> columns, List<String> properties) {
+
+        List<Object> values = new ArrayList<>(properties.size());
+        if (row instanceof Map<?, ?> map) {
+            // Map 결과는 mapUnderscoreToCamelCase 설정에 따라 키가 camelCase 또는 컬럼명이다
+            for (int i = 0; i < properties.size(); i++) {
+                values.add(map.containsKey(properties.get(i)) ? map.get(properties.get(i)) : map.get(columns.get(i)));
+            }
+            return values;
+        }
+        MetaObject metaObject = configuration.newMetaObject(row);
+        for (String property : properties) {
+            if (!metaObject.hasGetter(property)) {
+                throw new IllegalStateException("Cursor pagination sort column '" + property
+                        + "' is not readable on " + row.getClass().getName());
+            }
+            values.add(metaObject.getValue(property));
+        }
+        return values;
+    }
+
+    /**
+     * 매퍼가 {@code XPage} 를 반환하면 행 타입을 찾는다. 그 외에는 {@code null}.
+     */
+    private Class<?> pageResultType(MappedStatement mappedStatement, Object parameter) {
+
+        if (!mappedStatement.getResultMaps().get(0).getType().equals(XPage.class)) {
+            return null;
+        }
+
+        Class<?> resultType = parameterInResultType(parameter);
+
+        if (resultType == null) {
+            resultType = resolveReturnTypeFromMethod(mappedStatement.getId());
+        }
+
+        if (resultType == null) {
+            log.error("Not found Result Parameter Class ");
+        }
+
+        return resultType;
+    }
+
+    /**
+     * 다른 풀 커넥션에서 실행하는 COUNT. 작업은 커넥션을 얻은 뒤 {@link #claim()} 에 성공해야 COUNT 를
+     * 실행한다. 호출자가 먼저 claim 하면 작업은 COUNT 없이 커넥션을 돌려주고 호출자가 직접 센다.
+     */
+    private static final class ParallelCount {
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile Future<PageCount> future;
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        void abandon() {
+            claim();
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * {@code axim.mybatis.pagination.parallel-count} 가 켜져 있으면 COUNT 를 별도 풀 커넥션에서
+     * 비동기로 실행한다. 꺼져 있거나 읽기/쓰기 Spring 트랜잭션 안이면(별도 커넥션은 커밋 전 변경을
+     * 보지 못한다), 또는 COUNT 스레드와 대기열이 모두 차 있으면 {@code null} 을 돌려주고 호출자가
+     * 같은 커넥션에서 순차 실행한다.
+     */
+    private ParallelCount submitParallelCount(String query, MappedStatement mappedStatement,
+                                              Object parameterObject, BoundSql boundSql,
+                                              XSqlMetrics.Target target) {
+
+        if (!XRepositoryConfig.isParallelCount()
+                || (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return null;
+        }
+        DataSource dataSource = mappedStatement.getConfiguration().getEnvironment().getDataSource();
+        ParallelCount count = new ParallelCount();
+        try {
+            count.future = XCountExecutor.submit(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    if (!count.claim()) {
+                        return null;
+                    }
+                    return countPage(query, connection, mappedStatement, parameterObject, boundSql, target);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+        return count;
+    }
+
+    /**
+     * 병렬 COUNT 결과를 기다린다. 호출자는 자기 커넥션을 쥔 채 기다리므로, 풀이 고갈되면 COUNT 작업이
+     * 커넥션을 얻지 못해 서로 막힌다. 그래서 COUNT 가 시작되지 않은 채
+     * {@code axim.mybatis.pagination.parallel-count-wait} 가 지나거나 커넥션 획득이 실패하면 작업을
+     * 포기하고 {@code null} 을 돌려준다. 이미 실행 중인 COUNT 는 끝까지 기다린다.
+     */
+    private PageCount awaitCount(ParallelCount count) throws SQLException, InterruptedException {
+
+        try {
+            try {
+                return count.future.get(XRepositoryConfig.getParallelCountWait().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (count.claim()) {
+                    count.future.cancel(true);
+                    return null;
+                }
+                return count.future.get();
+            }
+        } catch (ExecutionException e) {
+            if (count.claim()) {
+                // 커넥션을 얻기 전에 실패했다 (풀 타임아웃 등)
+                log.debug("Parallel COUNT could not get a connection, counting on the caller's connection",
+                        e.getCause());
+                return null;
+            }
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Pagination COUNT failed", e.getCause());
+        }
+    }
+
+    private static Connection callerConnection(Invocation invocation) throws SQLException {
+
+        return ((Executor) invocation.getTarget()).getTransaction().getConnection();
+    }
+
+    /**
+     * 페이지의 전체 건수를 구한다.
+     *
+     * <p>COUNT 캐시({@code axim.mybatis.pagination.count-cache-ttl})가 켜져 있으면 읽기/쓰기 트랜잭션
+     * 밖에서 같은 COUNT SQL 과 바인딩 값의 결과를 재사용한다. {@code axim.mybatis.pagination.estimate-count-threshold} 가
+     * 설정되어 있고 조건 없는 단일 테이블 COUNT 이면 {@code EXPLAIN} 의 {@code rows} 추정치가
+     * 임계값 이상일 때 그 값을 근사치로 쓴다.
+     */
+    private PageCount countPage(String sql, Connection connection, MappedStatement mappedStatement,
+                                Object parameterObject, BoundSql boundSql,
+                                XSqlMetrics.Target target) throws SQLException {
+
+        final String countSql = XPaginationSql.countQuery(sql);
+
+        List<Object> parameters = null;
+        long cacheGeneration = 0;
+        if (XCountCache.isEnabled()) {
+            parameters = boundParameterValues(mappedStatement, boundSql);
+            cacheGeneration = XCountCache.generation(countSql);
+            XCountCache.Entry cached = XCountCache.get(countSql, parameters);
+            if (cached != null) {
+                return new PageCount(cached.count(), cached.approximate());
+            }
+        }
+
+        PageCount count = null;
+        long threshold = XRepositoryConfig.getEstimateCountThreshold();
+        String table = threshold > 0 ? XPaginationSql.unfilteredCountTable(countSql) : null;
+        if (table != null) {
+            long estimate = explainRows(table, connection);
+            if (estimate >= threshold) {
+                count = new PageCount((int) Math.min(estimate, Integer.MAX_VALUE), true);
+            }
+        }
+        if (count == null) {
+            long start = System.nanoTime();
+            Exception error = null;
+            try {
+                count = new PageCount(exactCount(countSql, connection, mappedStatement, parameterObject, boundSql),
+                        false);
+            } catch (SQLException | RuntimeException e) {
+                error = e;
+                throw e;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                XSqlMetrics.record(target, XSqlMetrics.PHASE_COUNT, elapsed, -1, error);
+                if (target != null && XSlowQueryLog.isEnabled() && XSlowQueryLog.shouldLog(elapsed)) {
+                    slowQuery(target, XSqlMetrics.PHASE_COUNT, elapsed, mappedStatement, boundSql, countSql);
+                }
+            }
+        }
+
+        if (parameters != null) {
+            XCountCache.put(countSql, parameters, count.total(), count.approximate(), cacheGeneration);
         }
+        return count;
+    }
 
-        return invocation.proceed();
+    /**
+     * {@code EXPLAIN SELECT * FROM <table>} 의 {@code rows} 값을 읽는다. MySQL 이 아니어서
+     * {@code rows} 컬럼이 없거나 실패하면 {@code -1}.
+     */
+    private long explainRows(String table, Connection connection) {
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN SELECT * FROM " + table)) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                if ("rows".equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                    return rs.next() ? rs.getLong(i) : -1;
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("EXPLAIN row estimate failed for {}", table, e);
+        }
+        return -1;
+    }
+
+    /**
+     * {@code DefaultParameterHandler} 와 같은 규칙으로 바인딩될 값을 순서대로 모은다 (COUNT 캐시 키).
+     */
+    private List<Object> boundParameterValues(MappedStatement mappedStatement, BoundSql boundSql) {
+
+        Configuration configuration = mappedStatement.getConfiguration();
+        Object parameterObject = boundSql.getParameterObject();
+        MetaObject metaObject = null;
+        List<Object> values = new ArrayList<>(boundSql.getParameterMappings().size());
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = mapping.getProperty();
+            if (boundSql.hasAdditionalParameter(property)) {
+                values.add(boundSql.getAdditionalParameter(property));
+            } else if (parameterObject == null) {
+                values.add(null);
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                values.add(parameterObject);
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                values.add(metaObject.getValue(property));
+            }
+        }
+        return values;
     }
 
     public int getCount(final String sql, final Connection connection,
                         final MappedStatement mappedStatement, final Object parameterObject,
                         final BoundSql boundSql) throws SQLException {
 
-        final String countSql = getCountString(sql);
+        return exactCount(XPaginationSql.countQuery(sql), connection, mappedStatement, parameterObject, boundSql);
+    }
+
+    private int exactCount(final String countSql, final Connection connection,
+                           final MappedStatement mappedStatement, final Object parameterObject,
+                           final BoundSql boundSql) throws SQLException {
 
         if (XRepositoryConfig.isDebug()) {
             log.info("XQuery ==> \n" + countSql);
@@ -228,8 +705,8 @@ public class XResultInterceptor implements Interceptor {
         ResultSet rs = null;
         try {
             countStmt = connection.prepareStatement(countSql);
-            final BoundSql countBS = new BoundSql(mappedStatement.getConfiguration(), countSql,
-                    boundSql.getParameterMappings(), parameterObject);
+            // foreach 가 만든 추가 파라미터(__frch_*)도 함께 복사한다
+            final BoundSql countBS = copyFromBoundSql(mappedStatement, boundSql, countSql);
             mappedStatement.getConfiguration()
                     .newParameterHandler(mappedStatement, parameterObject, countBS)
                     .setParameters(countStmt);
@@ -249,30 +726,64 @@ public class XResultInterceptor implements Interceptor {
         }
     }
 
-    private String getCountString(String query) {
+    /**
+     * 결과 타입만 바꾼 {@code ms} 사본. {@code (ms, resultType)} 마다 한 번만 만든다.
+     */
+    private MappedStatement resultTypeStatement(MappedStatement ms, Class<?> resultType,
+                                                boolean keepOriginalResultMap) {
 
-        return "SELECT COUNT(1) FROM (" + query + ") _tmp";
+        return derivedStatements.computeIfAbsent(
+                new StatementKey(ms, resultType, null, keepOriginalResultMap, false),
+                key -> copyFromMappedStatement(ms, ms.getSqlSource(), ms.getResultMaps().get(0), resultType,
+                        keepOriginalResultMap));
     }
 
-    private MappedStatement copyFromNewSql(MappedStatement ms,
-                                           BoundSql boundSql, String sql,
-                                           Class resultType) {
+    private MappedStatement fetchSizeStatement(MappedStatement ms, Integer fetchSize) {
 
-        BoundSql newBoundSql = copyFromBoundSql(ms, boundSql, sql);
+        return derivedStatements.computeIfAbsent(new StatementKey(ms, null, fetchSize, false, false),
+                key -> copyFromMappedStatement(ms, ms.getSqlSource(), fetchSize));
+    }
 
-        if (resultType == null) {
-            return copyFromMappedStatement(ms, new BoundSqlSqlSource(newBoundSql));
-        } else {
-            return copyFromMappedStatement(ms, new BoundSqlSqlSource(newBoundSql), ms.getResultMaps().get(0),
-                    resultType);
+    /**
+     * 페이지 쿼리용 템플릿 {@code ms} 사본. SQL 은 호출마다 다르므로 {@link PageSqlSource} 가
+     * {@link #proceedWithBoundSql} 이 걸어 둔 BoundSql 을 돌려준다.
+     */
+    private MappedStatement pageStatement(MappedStatement ms, Class<?> resultType) {
+
+        return derivedStatements.computeIfAbsent(new StatementKey(ms, resultType, null, true, true),
+                key -> resultType == null
+                        ? copyFromMappedStatement(ms, PageSqlSource.INSTANCE)
+                        : copyFromMappedStatement(ms, PageSqlSource.INSTANCE, ms.getResultMaps().get(0), resultType));
+    }
+
+    private Object proceedWithBoundSql(Invocation invocation, BoundSql boundSql,
+                                       XSqlMetrics.Target target) throws Throwable {
+
+        // 중첩 select 가 다시 페이지 쿼리를 타더라도 바깥 값을 되돌린다
+        BoundSql previous = PageSqlSource.CURRENT.get();
+        PageSqlSource.CURRENT.set(boundSql);
+        try {
+            return proceedMeasured(invocation, target, XSqlMetrics.PHASE_PAGE);
+        } finally {
+            if (previous == null) {
+                PageSqlSource.CURRENT.remove();
+            } else {
+                PageSqlSource.CURRENT.set(previous);
+            }
         }
     }
 
     public BoundSql copyFromBoundSql(MappedStatement ms,
                                      BoundSql boundSql, String sql) {
 
+        return copyFromBoundSql(ms, boundSql, sql, boundSql.getParameterMappings());
+    }
+
+    private BoundSql copyFromBoundSql(MappedStatement ms, BoundSql boundSql, String sql,
+                                      List<ParameterMapping> parameterMappings) {
+
         BoundSql newBoundSql = new BoundSql(ms.getConfiguration(), sql,
-                boundSql.getParameterMappings(),
+                parameterMappings,
                 boundSql.getParameterObject());
         for (ParameterMapping mapping : boundSql.getParameterMappings()) {
             String prop = mapping.getProperty();
@@ -284,14 +795,19 @@ public class XResultInterceptor implements Interceptor {
         return newBoundSql;
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     private MappedStatement copyFromMappedStatement(MappedStatement ms, SqlSource newSqlSource) {
 
+        return copyFromMappedStatement(ms, newSqlSource, ms.getFetchSize());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private MappedStatement copyFromMappedStatement(MappedStatement ms, SqlSource newSqlSource, Integer fetchSize) {
+
         MappedStatement.Builder builder =
                 new MappedStatement.Builder(ms.getConfiguration(), ms.getId(), newSqlSource, ms.getSqlCommandType());
 
         builder.resource(ms.getResource());
-        builder.fetchSize(ms.getFetchSize());
+        builder.fetchSize(fetchSize);
         builder.statementType(ms.getStatementType());
         builder.keyGenerator(ms.getKeyGenerator());
         String[] keyProperties = ms.getKeyProperties();
@@ -315,10 +831,17 @@ public class XResultInterceptor implements Interceptor {
         return builder.build();
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
+    @SuppressWarnings("rawtypes")
     private MappedStatement copyFromMappedStatement(MappedStatement ms, SqlSource newSqlSource, ResultMap resultMap,
                                                     Class resultCls) {
 
+        return copyFromMappedStatement(ms, newSqlSource, resultMap, resultCls, true);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private MappedStatement copyFromMappedStatement(MappedStatement ms, SqlSource newSqlSource, ResultMap resultMap,
+                                                    Class resultCls, boolean keepOriginalResultMap) {
+
         MappedStatement.Builder builder =
                 new MappedStatement.Builder(ms.getConfiguration(), ms.getId(), newSqlSource, ms.getSqlCommandType());
 
@@ -343,7 +866,9 @@ public class XResultInterceptor implements Interceptor {
                 resultMap.getId(), resultCls,
                 resultMap.getResultMappings()).build());
 
-        newResultMaps.add(resultMap);
+        if (keepOriginalResultMap) {
+            newResultMaps.add(resultMap);
+        }
 
         builder.resultMaps(newResultMaps);
 
@@ -471,6 +996,7 @@ public class XResultInterceptor implements Interceptor {
      *
      * <p>findById: {@code <T> T findById(...)} → Object → true
      * <p>findAll:  {@code <T> List<T> findAll(...)} → List → true
+     * <p>streamAll: {@code <T> Cursor<T> streamAll(...)} → Cursor → true
      * <p>count:    {@code long count(...)} → long → false
      *
      * <p>이 구분이 필요한 이유는 warm-path 캐시 오염 상황에서 findById 의
@@ -492,7 +1018,8 @@ public class XResultInterceptor implements Interceptor {
                 for (Method method : mapperClass.getMethods()) {
                     if (method.getName().equals(methodName)) {
                         Class<?> raw = method.getReturnType();
-                        return raw == Object.class || Collection.class.isAssignableFrom(raw);
+                        return raw == Object.class || Collection.class.isAssignableFrom(raw)
+                                || Cursor.class.isAssignableFrom(raw);
                     }
                 }
             } catch (ClassNotFoundException e) {
@@ -502,149 +1029,31 @@ public class XResultInterceptor implements Interceptor {
         });
     }
 
-    private String getQueryString(MappedStatement mappedStatement, Object parameters) {
-        HashMap<String, Object> parameterValues = new HashMap<>();
+    /** spring.debug 로그용 — 바인딩 값을 리터럴로 끼워 넣은 SQL */
+    private String renderQuery(MappedStatement mappedStatement, Object parameter) {
 
-        BoundSql boundSql = mappedStatement.getBoundSql(parameters);
-
-        Object oneValue = null;
-
-        if (parameters != null) {
-            if (ColumnSpec.isNormalType(parameters.getClass())) { // one params
-                // nothing ...
-                oneValue = parameters;
-            } else if (parameters instanceof Map) {
-                mapToMap(parameterValues, null, (Map) parameters);
-            } else {
-                objectToMap(parameterValues, null, parameters);
-            }
-        }
-
-        String query = boundSql.getSql();
-
-        if (oneValue != null) {
-            query = query.replaceAll("\\?", parameterToString(parameterValues.get(oneValue)));
-        } else {
-            if (parameterValues.size() > 0) {
-                StringBuilder sb = new StringBuilder();
-
-                Pattern pattern = Pattern.compile("(\\?)");
-                Matcher matcher = pattern.matcher(query);
-
-                int index = 0;
-                int pos = 0;
-
-                while (matcher.find()) {
-                    int start = matcher.start();
-                    sb.append(query.substring(pos, start));
-
-                    ParameterMapping mapping = boundSql.getParameterMappings().get(index++);
-                    sb.append(parameterToString(parameterValues.get(mapping.getProperty())));
-
-                    pos = matcher.end();
-                }
-
-                if (sb.length() > 0) {
-                    if (pos < query.length()) {
-                        sb.append(query.substring(pos, query.length()));
-                    }
-                    query = sb.toString();
-                }
-            }
-        }
-
-        return query;
+        BoundSql boundSql = mappedStatement.getBoundSql(parameter);
+        return XSqlRenderer.inline(boundSql.getSql(), boundParameterValues(mappedStatement, boundSql));
     }
 
-    private void mapToMap(HashMap<String, Object> valueMap, String parentKey, Map<String, ?> map) {
-
-        Set<String> keys = map.keySet();
-
-        for (String key : keys) {
-            String newKey = (parentKey == null ? "" : parentKey + ".") + key;
-            if (map.get(key) != null) {
-                if (ColumnSpec.isNormalType(map.get(key).getClass())) { // Value
-                    valueMap.put(newKey, map.get(key));
-                } else if (map.get(key) instanceof Map) {
-                    mapToMap(valueMap, newKey, (Map<String, ?>) map.get(key));
-                } else {
-                    objectToMap(valueMap, newKey, map.get(key));
-                }
-            } else {
-                valueMap.put(newKey, map.get(key));
-            }
-        }
-    }
-
-    private void objectToMap(HashMap<String, Object> valueMap, String parentKey, Object params) {
-
-        for (Field field : getAllFields(params.getClass())) {
-            String newKey = (parentKey == null ? "" : parentKey + ".") + field.getName();
-            try {
-
-                PropertyDescriptor propertyDescriptor =
-                        BeanUtils.getPropertyDescriptor(params.getClass(), field.getName());
-
-                if (propertyDescriptor != null) {
-                    Method getterMethod =
-                            propertyDescriptor.getReadMethod();
-                    if (getterMethod != null) {
-                        Object value = getterMethod.invoke(params);
-
-                        if (value != null && !(value instanceof Class)) {
-                            if (ColumnSpec.isNormalType(value.getClass())) {
-                                valueMap.put(newKey, value);
-                            } else if (value instanceof Enum) {
-                                valueMap.put(newKey, ((Enum) value).toString());
-                            } else if (value instanceof Map) {
-                                mapToMap(valueMap, newKey, (Map<String, ?>) value);
-                            } else {
-                                objectToMap(valueMap, newKey, value);
-                            }
-                        }
-                    }
-                }
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                log.warn("Failed to read field value from {}: {}", params.getClass().getSimpleName(), field.getName(), e);
-            }
-        }
-    }
+    /**
+     * 캐시된 페이지 템플릿 MappedStatement 의 SqlSource. Executor 는 {@code query} 진입 직후 같은
+     * 스레드에서 {@code getBoundSql} 을 부르므로 호출 단위 BoundSql 을 ThreadLocal 로 넘긴다.
+     */
+    static final class PageSqlSource implements SqlSource {
 
-    private Object getObjectFieldValue(Object obj, String fieldName) {
+        static final PageSqlSource INSTANCE = new PageSqlSource();
+        static final ThreadLocal<BoundSql> CURRENT = new ThreadLocal<>();
 
-        try {
-            PropertyDescriptor propertyDescriptor =
-                    BeanUtils.getPropertyDescriptor(obj.getClass(), fieldName);
+        @Override
+        public BoundSql getBoundSql(Object parameterObject) {
 
-            if(propertyDescriptor != null) {
-                return getValueByReadMethod(obj, propertyDescriptor.getReadMethod());
+            BoundSql boundSql = CURRENT.get();
+            if (boundSql == null) {
+                throw new IllegalStateException("Paginated statement executed outside XResultInterceptor");
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Field " + fieldName + " Object Reflection Exception ", e);
-        }
-
-        return null;
-    }
-
-    private String parameterToString(Object value) {
-
-        if (value == null) {
-            return "null";
-        }
-
-        if (value instanceof String s) {
-            return "'" + s.replace("'", "''") + "'";
-        } else if (value instanceof Date d) {
-            return "'" + dtFormat.format(d.toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime()) + "'";
-        } else if (value instanceof Number) {
-            return value.toString();
-        } else if (value instanceof Boolean b) {
-            return b ? "1" : "0";
-        } else if (value instanceof Enum<?> e) {
-            return e.toString();
+            return boundSql;
         }
-
-        return "" + value;
     }
 
     public static class BoundSqlSqlSource implements SqlSource {
@@ -661,38 +1070,4 @@ public class XResultInterceptor implements Interceptor {
             return boundSql;
         }
     }
-
-    private Object getValueByReadMethod(Object obj, Method getterMethod) throws InvocationTargetException, IllegalAccessException {
-
-        if (getterMethod == null) {
-            return null;
-        }
-
-        Object value = getterMethod.invoke(obj);
-
-        if (value == null || value instanceof Class) {
-            return null;
-        }
-
-        if (ColumnSpec.isNormalType(value.getClass())) {
-            return value;
-        } else if (value instanceof Enum<?> e) {
-            return e.toString();
-        } else if (value instanceof Map) {
-            return (Map<String, ?>) value;
-        }
-
-        return value;
-    }
-
-    private List<Field> getAllFields(Class<?> clazz) {
-        List<Field> fields = new ArrayList<>();
-        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
-            for (Field field : c.getDeclaredFields()) {
-                if (field.isSynthetic() || java.lang.reflect.Modifier.isStatic(field.getModifiers())) continue;
-                fields.add(field);
-            }
-        }
-        return fields;
-    }
 }
@@ -0,0 +1,152 @@
+package one.axim.framework.mybatis.plugin;
+
+import one.axim.framework.mybatis.repository.XRepositoryConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous log of slow and sampled SQL statements.
+ *
+ * <p>A statement is logged when it took at least {@code axim.mybatis.slow-query.threshold}, or when
+ * it is picked by {@code axim.mybatis.slow-query.sample-rate}. The entry has the entity and
+ * operation ({@link XSqlMetrics.Target}), the phase, the elapsed time, the SQL with its
+ * placeholders and the simple type names of the bound values. Values themselves are never logged.
+ * With {@code axim.mybatis.slow-query.explain=true} a slow SELECT is also run through MySQL
+ * {@code EXPLAIN} on a separate pooled connection, using the bound values.</p>
+ *
+ * <p>Entries are written by one daemon thread. When it falls more than 1000 entries behind, new
+ * entries are dropped rather than slowing the caller down.</p>
+ */
+public final class XSlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger(XSlowQueryLog.class);
+    private static final int QUEUE_SIZE = 1000;
+
+    /** Captured on the calling thread; {@code values} is only kept when EXPLAIN will run. */
+    record Entry(XSqlMetrics.Target target, String phase, long nanos, boolean slow, String sql,
+                 String shapes, List<Object> values, DataSource dataSource) {
+    }
+
+    private static volatile ThreadPoolExecutor writer;
+
+    private XSlowQueryLog() {
+    }
+
+    public static boolean isEnabled() {
+        return !XRepositoryConfig.getSlowQueryThreshold().isZero() || XRepositoryConfig.getSlowQuerySampleRate() > 0;
+    }
+
+    /**
+     * @return {@code true} when the statement is over the threshold or sampled
+     */
+    static boolean shouldLog(long nanos) {
+        return isSlow(nanos) || isSampled();
+    }
+
+    /**
+     * Queues a statement for logging.
+     *
+     * @param values bound values in placeholder order
+     * @param select whether the statement is a SELECT (only those are EXPLAINed)
+     */
+    static void submit(XSqlMetrics.Target target, String phase, long nanos, String sql, List<Object> values,
+                       boolean select, DataSource dataSource) {
+        boolean slow = isSlow(nanos);
+        boolean explain = slow && select && dataSource != null && XRepositoryConfig.isSlowQueryExplain();
+        Entry entry = new Entry(target, phase, nanos, slow, sql, XSqlRenderer.shapes(values),
+                explain ? values : null, explain ? dataSource : null);
+        writer().execute(() -> write(entry));
+    }
+
+    static String message(Entry entry, String explain) {
+        StringBuilder sb = new StringBuilder(entry.slow() ? "Slow SQL " : "Sampled SQL ")
+                .append(TimeUnit.NANOSECONDS.toMillis(entry.nanos())).append(" ms ")
+                .append(entry.target().entity()).append('.').append(entry.target().operation())
+                .append(" [").append(entry.phase()).append("]: ")
+                .append(entry.sql().trim().replaceAll("\\s+", " "))
+                .append(" | parameters=").append(entry.shapes());
+        if (explain != null) {
+            sb.append(" | explain=").append(explain);
+        }
+        return sb.toString();
+    }
+
+    private static boolean isSlow(long nanos) {
+        Duration threshold = XRepositoryConfig.getSlowQueryThreshold();
+        return !threshold.isZero() && nanos >= threshold.toNanos();
+    }
+
+    private static boolean isSampled() {
+        double rate = XRepositoryConfig.getSlowQuerySampleRate();
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private static void write(Entry entry) {
+        String explain = entry.dataSource() == null ? null : explain(entry);
+        if (entry.slow()) {
+            log.warn(message(entry, explain));
+        } else {
+            log.info(message(entry, explain));
+        }
+    }
+
+    /**
+     * EXPLAIN 결과 행들을 {@code [{id=1, select_type=SIMPLE, ...}]} 형태로 만든다. 실패하면 원인 메시지.
+     */
+    private static String explain(Entry entry) {
+        try (Connection connection = entry.dataSource().getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + entry.sql())) {
+            List<Object> values = entry.values();
+            for (int i = 0; i < values.size(); i++) {
+                Object value = values.get(i);
+                statement.setObject(i + 1, value instanceof Enum<?> e ? e.name() : value);
+            }
+            StringBuilder sb = new StringBuilder("[");
+            try (ResultSet rs = statement.executeQuery()) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                while (rs.next()) {
+                    sb.append(sb.length() == 1 ? "{" : ", {");
+                    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        sb.append(i == 1 ? "" : ", ").append(metaData.getColumnLabel(i)).append('=').append(rs.getString(i));
+                    }
+                    sb.append('}');
+                }
+            }
+            return sb.append(']').toString();
+        } catch (SQLException | RuntimeException e) {
+            return "unavailable (" + e.getMessage() + ")";
+        }
+    }
+
+    private static ThreadPoolExecutor writer() {
+        ThreadPoolExecutor executor = writer;
+        if (executor == null) {
+            synchronized (XSlowQueryLog.class) {
+                executor = writer;
+                if (executor == null) {
+                    executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                            new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+                                Thread thread = new Thread(runnable, "axim-slow-query-log");
+                                thread.setDaemon(true);
+                                return thread;
+                            }, new ThreadPoolExecutor.DiscardPolicy());
+                    writer = executor;
+                }
+            }
+        }
+        return executor;
+    }
+}
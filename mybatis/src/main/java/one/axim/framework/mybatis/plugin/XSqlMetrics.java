@@ -0,0 +1,125 @@
+package one.axim.framework.mybatis.plugin;
+
+import org.apache.ibatis.mapping.MappedStatement;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-statement SQL measurements reported by {@link XResultInterceptor}.
+ *
+ * <p>Every statement is reported under an entity and an operation. Inside a repository call these
+ * are the entity's simple name and the repository method ({@code User.findByEmail}); other
+ * statements use the mapper's simple name and method ({@code OrderMapper.findRecent}). The phase
+ * separates plain queries, pagination COUNTs and page fetches, cursors and writes, so tags stay
+ * bounded by the number of repository and mapper methods.</p>
+ *
+ * <p>Nothing is measured until a {@link Recorder} is bound; {@code XSqlMetricsBinder} binds a
+ * Micrometer recorder when a {@code MeterRegistry} bean exists. Targets are also resolved for
+ * {@link XSlowQueryLog} when it is on.</p>
+ */
+public final class XSqlMetrics {
+
+    public static final String PHASE_QUERY = "query";
+    public static final String PHASE_COUNT = "count";
+    public static final String PHASE_PAGE = "page";
+    public static final String PHASE_CURSOR = "cursor";
+    public static final String PHASE_UPDATE = "update";
+
+    /** Receives one measurement per executed statement. */
+    @FunctionalInterface
+    public interface Recorder {
+
+        /**
+         * @param rows  rows returned or affected; {@code -1} when unknown (cursors, JDBC batches, COUNT)
+         * @param error the failure, or {@code null}
+         */
+        void record(Target target, String phase, long nanos, long rows, Throwable error);
+    }
+
+    /** Entity (or mapper) and operation a statement is reported under. */
+    public record Target(String entity, String operation) {
+    }
+
+    private static final ThreadLocal<Target> CURRENT = new ThreadLocal<>();
+    private static final Map<String, Target> STATEMENT_TARGETS = new ConcurrentHashMap<>();
+    private static volatile Recorder recorder;
+
+    private XSqlMetrics() {
+    }
+
+    /**
+     * @param recorder recorder to report to; {@code null} turns measuring off
+     */
+    public static void bind(Recorder recorder) {
+        XSqlMetrics.recorder = recorder;
+    }
+
+    public static boolean isEnabled() {
+        return recorder != null;
+    }
+
+    /**
+     * @return whether statements are attributed to targets, i.e. metrics or the slow-query log is on
+     */
+    public static boolean isTracking() {
+        return recorder != null || XSlowQueryLog.isEnabled();
+    }
+
+    /**
+     * Reports the statements run on this thread under {@code target} until {@link #exit}.
+     *
+     * @return the previous target, to pass to {@link #exit}
+     */
+    public static Target enter(Target target) {
+        Target previous = CURRENT.get();
+        CURRENT.set(target);
+        return previous;
+    }
+
+    public static void exit(Target previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * @return the target of {@code ms} on this thread, or {@code null} when nothing is tracked
+     */
+    static Target target(MappedStatement ms) {
+        if (!isTracking()) {
+            return null;
+        }
+        Target current = CURRENT.get();
+        return current != null ? current : STATEMENT_TARGETS.computeIfAbsent(ms.getId(), XSqlMetrics::statementTarget);
+    }
+
+    static void record(Target target, String phase, long nanos, long rows, Throwable error) {
+        Recorder current = recorder;
+        if (target != null && current != null) {
+            current.record(target, phase, nanos, rows, error);
+        }
+    }
+
+    /** Row count of a select list or update count; {@code -1} for anything else. */
+    static long rows(Object result) {
+        if (result instanceof Collection<?> rows) {
+            return rows.size();
+        }
+        // BatchExecutor 는 실제 건수 대신 음수 상수를 돌려준다
+        if (result instanceof Number count && count.longValue() >= 0) {
+            return count.longValue();
+        }
+        return -1;
+    }
+
+    /** {@code com.example.mapper.OrderMapper.findRecent} → {@code (OrderMapper, findRecent)} */
+    private static Target statementTarget(String statementId) {
+        int dot = statementId.lastIndexOf('.');
+        String namespace = dot < 0 ? "" : statementId.substring(0, dot);
+        return new Target(namespace.substring(namespace.lastIndexOf('.') + 1), statementId.substring(dot + 1));
+    }
+}
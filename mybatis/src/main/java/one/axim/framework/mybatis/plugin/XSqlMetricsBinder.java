@@ -0,0 +1,32 @@
+package one.axim.framework.mybatis.plugin;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import one.axim.framework.mybatis.repository.XRepositoryConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds {@link XMicrometerSqlMetrics} to {@link XSqlMetrics} when Micrometer is on the classpath,
+ * a {@link MeterRegistry} bean exists and {@code axim.mybatis.metrics.enabled} is not {@code false}.
+ */
+@Component
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+public class XSqlMetricsBinder implements DisposableBean {
+
+    /**
+     * XRepositoryConfig 를 주입받아 정적 설정이 먼저 읽히도록 한다.
+     */
+    public XSqlMetricsBinder(XRepositoryConfig config, ObjectProvider<MeterRegistry> registries) {
+        MeterRegistry registry = registries.getIfUnique();
+        if (registry != null && XRepositoryConfig.isMetricsEnabled()) {
+            XSqlMetrics.bind(new XMicrometerSqlMetrics(registry));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        XSqlMetrics.bind(null);
+    }
+}
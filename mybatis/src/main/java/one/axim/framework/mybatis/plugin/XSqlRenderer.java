@@ -0,0 +1,72 @@
+package one.axim.framework.mybatis.plugin;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Renders prepared SQL for logs in one pass over the SQL text.
+ *
+ * <p>{@code ?} placeholders inside quoted literals and identifiers are left alone. Values come
+ * from the bound parameter list, so nothing is read from the parameter object reflectively.</p>
+ */
+final class XSqlRenderer {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private XSqlRenderer() {
+    }
+
+    /** SQL with each placeholder replaced by its value as a SQL literal (debug logging). */
+    static String inline(String sql, List<Object> values) {
+        StringBuilder sb = new StringBuilder(sql.length() + values.size() * 8);
+        char quote = 0;
+        int index = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == '\\' && quote != '`' && i + 1 < sql.length()) {
+                    sb.append(c).append(sql.charAt(++i));
+                    continue;
+                }
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?' && index < values.size()) {
+                sb.append(literal(values.get(index++)));
+                continue;
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /** Simple type names of the bound values, e.g. {@code [String, Long, null]}; values are not shown. */
+    static String shapes(List<Object> values) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            sb.append(i == 0 ? "" : ", ").append(value == null ? "null" : value.getClass().getSimpleName());
+        }
+        return sb.append(']').toString();
+    }
+
+    static String literal(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof String s) {
+            return "'" + s.replace("'", "''") + "'";
+        } else if (value instanceof Date d) {
+            return "'" + DATE_TIME.format(d.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime()) + "'";
+        } else if (value instanceof Number) {
+            return value.toString();
+        } else if (value instanceof Boolean b) {
+            return b ? "1" : "0";
+        }
+        return "'" + String.valueOf(value).replace("'", "''") + "'";
+    }
+}
@@ -0,0 +1,200 @@
+package one.axim.framework.mybatis.processor;
+
+import one.axim.framework.mybatis.proxy.XRepositoryProxyFactoryBean;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates a concrete class for every {@code @XRepository} interface at build time.
+ *
+ * <pre>{@code
+ * dependencies {
+ *     annotationProcessor 'one.axim.framework:mybatis:<version>'
+ * }
+ * }</pre>
+ *
+ * <p>For {@code UserRepository} the processor writes {@code UserRepository_XRepository}, which implements
+ * every abstract method by calling the handler {@code XRepositoryProxy} compiled for it. The handlers
+ * are resolved once when the repository is created, so a call skips the JDK proxy, its
+ * {@code Method} lookup and the boxing of its return value through {@code InvocationHandler}.
+ * SQL building and row mapping stay in {@code CrudSqlProvider} and MyBatis.</p>
+ *
+ * <p>Interfaces that cannot be implemented by a plain class (private, generic, or with generic
+ * methods) are skipped with a note; {@code XRepositoryProxyFactoryBean} keeps using the JDK proxy for
+ * them and for any interface compiled without the processor.</p>
+ */
+@SupportedAnnotationTypes("one.axim.framework.mybatis.annotation.XRepository")
+public class XRepositoryProcessor extends AbstractProcessor {
+
+    private static final String REPOSITORY_INTERFACE = "one.axim.framework.mybatis.repository.IXRepository";
+    private static final String PROXY_CLASS = "one.axim.framework.mybatis.proxy.XRepositoryProxy";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.INTERFACE) {
+                    generate((TypeElement) element);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement repository) {
+        TypeElement baseInterface = processingEnv.getElementUtils().getTypeElement(REPOSITORY_INTERFACE);
+        if (baseInterface == null || !processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(repository.asType()),
+                processingEnv.getTypeUtils().erasure(baseInterface.asType()))) {
+            return;
+        }
+
+        List<ExecutableElement> methods = abstractMethods(repository);
+        String skipReason = skipReason(repository, methods);
+        if (skipReason != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "Not generating a repository class (" + skipReason + "); the runtime proxy is used", repository);
+            return;
+        }
+
+        String binaryName = processingEnv.getElementUtils().getBinaryName(repository).toString();
+        String generatedName = binaryName.replace('$', '_') + XRepositoryProxyFactoryBean.GENERATED_SUFFIX;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(generatedName, repository).openWriter()) {
+            writer.write(source(repository, generatedName, methods));
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write " + generatedName + ": " + e.getMessage(), repository);
+        }
+    }
+
+    /** Abstract instance methods of the interface, including inherited ones. */
+    private List<ExecutableElement> abstractMethods(TypeElement repository) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(repository))) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (modifiers.contains(Modifier.ABSTRACT) && !modifiers.contains(Modifier.STATIC)
+                    && method.getEnclosingElement().getKind() == ElementKind.INTERFACE) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    private String skipReason(TypeElement repository, List<ExecutableElement> methods) {
+        for (Element e = repository; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                return "private interface";
+            }
+        }
+        if (!repository.getTypeParameters().isEmpty()) {
+            return "generic interface";
+        }
+        for (ExecutableElement method : methods) {
+            if (!method.getTypeParameters().isEmpty()) {
+                return "generic method " + method.getSimpleName();
+            }
+        }
+        return null;
+    }
+
+    private String source(TypeElement repository, String generatedName, List<ExecutableElement> methods) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(repository).getQualifiedName().toString();
+        String simpleName = packageName.isEmpty() ? generatedName : generatedName.substring(packageName.length() + 1);
+        String repositoryName = repository.getQualifiedName().toString();
+        DeclaredType repositoryType = (DeclaredType) repository.asType();
+
+        StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        sb.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        sb.append("final class ").append(simpleName).append(" implements ").append(repositoryName).append(" {\n\n");
+        sb.append("    private final ").append(PROXY_CLASS).append(" repository;\n");
+        for (int i = 0; i < methods.size(); i++) {
+            sb.append("    private final ").append(PROXY_CLASS).append(".MethodHandler m").append(i).append(";\n");
+        }
+
+        // 생성자 — 메서드별 핸들러를 한 번만 조회
+        sb.append("\n    ").append(simpleName).append("(").append(PROXY_CLASS)
+                .append(" repository) throws NoSuchMethodException {\n");
+        sb.append("        this.repository = repository;\n");
+        for (int i = 0; i < methods.size(); i++) {
+            ExecutableElement method = methods.get(i);
+            sb.append("        this.m").append(i).append(" = repository.handler(").append(repositoryName)
+                    .append(".class.getMethod(\"").append(method.getSimpleName()).append("\"");
+            for (var parameter : method.getParameters()) {
+                sb.append(", ").append(processingEnv.getTypeUtils().erasure(parameter.asType())).append(".class");
+            }
+            sb.append("));\n");
+        }
+        sb.append("    }\n");
+
+        for (int i = 0; i < methods.size(); i++) {
+            ExecutableElement method = methods.get(i);
+            ExecutableType type = (ExecutableType) processingEnv.getTypeUtils().asMemberOf(repositoryType, method);
+            List<? extends TypeMirror> parameterTypes = type.getParameterTypes();
+            TypeMirror returnType = type.getReturnType();
+
+            sb.append("\n    @Override\n    public ").append(returnType).append(' ')
+                    .append(method.getSimpleName()).append('(');
+            StringBuilder args = new StringBuilder();
+            for (int p = 0; p < parameterTypes.size(); p++) {
+                if (p > 0) {
+                    sb.append(", ");
+                    args.append(", ");
+                }
+                TypeMirror parameterType = parameterTypes.get(p);
+                if (method.isVarArgs() && p == parameterTypes.size() - 1) {
+                    String array = parameterType.toString();
+                    sb.append(array, 0, array.length() - 2).append("...");
+                } else {
+                    sb.append(parameterType);
+                }
+                sb.append(" p").append(p);
+                args.append('p').append(p);
+            }
+            sb.append(") {\n        ");
+
+            String call = "m" + i + ".invoke(" + (parameterTypes.isEmpty() ? "null" : "new Object[]{" + args + "}") + ")";
+            if (returnType.getKind() == TypeKind.VOID) {
+                sb.append(call).append(";\n");
+            } else if (returnType.getKind().isPrimitive()) {
+                sb.append("return (").append(processingEnv.getTypeUtils().boxedClass((PrimitiveType) returnType)
+                        .getQualifiedName()).append(") ").append(call).append(";\n");
+            } else {
+                sb.append("return (").append(returnType).append(") ").append(call).append(";\n");
+            }
+            sb.append("    }\n");
+        }
+
+        sb.append("\n    @Override\n    public String toString() {\n        return repository.toString();\n    }\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+}
@@ -4,6 +4,7 @@ import one.axim.framework.mybatis.meta.ColumnMetadata;
 import one.axim.framework.mybatis.meta.EntityMetadata;
 import one.axim.framework.mybatis.meta.EntityMetadataFactory;
 import one.axim.framework.mybatis.model.XMapperParameter;
+import one.axim.framework.mybatis.repository.Projection;
 import org.apache.ibatis.jdbc.SQL;
 
 import java.util.List;
@@ -14,69 +15,188 @@ import java.util.stream.Collectors;
 public class CrudSqlProvider {
 
     private static final EntityMetadataFactory METADATA_FACTORY = new EntityMetadataFactory();
+    private static final ConcurrentHashMap<Class<?>, EntitySqlTemplates> TEMPLATES = new ConcurrentHashMap<>();
+    /** String-keyed fallback for entities whose where shape does not fit in a {@code long} (> 64 columns). */
     private static final ConcurrentHashMap<String, String> SQL_CACHE = new ConcurrentHashMap<>();
 
+    /** SQL template kinds; the ordinal indexes {@link EntitySqlTemplates}. */
+    enum Operation {
+        INSERT, INSERT_ALL, UPDATE, SELECTIVE_UPDATE, DELETE,
+        FIND_BY_ID, FIND_ALL, FIND_WHERE, COUNT, FIND_ONE_BY, UPSERT, INSERT_IGNORE,
+        UPSERT_ALL, UPSERT_ALL_NON_NULL, FIND_BY_IDS
+    }
+
+    private static final int OPERATION_COUNT = Operation.values().length;
+
     // ──────────────────────────────────────────
     // Public provider methods (called by MyBatis)
     // ──────────────────────────────────────────
 
     public String insert(XMapperParameter parameter) {
-        return SQL_CACHE.computeIfAbsent(
-                cacheKey(parameter, "insert"), k -> buildInsert(parameter));
+        return resolve(parameter, Operation.INSERT);
     }
 
     public String insertAll(XMapperParameter parameter) {
-        return SQL_CACHE.computeIfAbsent(
-                cacheKey(parameter, "insertAll"), k -> buildInsertAll(parameter));
+        return resolve(parameter, Operation.INSERT_ALL);
+    }
+
+    public String insertIgnore(XMapperParameter parameter) {
+        return resolve(parameter, Operation.INSERT_IGNORE);
     }
 
     public String update(XMapperParameter parameter) {
-        return SQL_CACHE.computeIfAbsent(
-                cacheKey(parameter, "update"), k -> buildUpdate(parameter));
+        return resolve(parameter, Operation.UPDATE);
     }
 
     public String selectiveUpdate(XMapperParameter parameter) {
-        return SQL_CACHE.computeIfAbsent(
-                cacheKey(parameter, "selectiveUpdate"), k -> buildSelectiveUpdate(parameter));
+        return resolve(parameter, Operation.SELECTIVE_UPDATE);
     }
 
     public String delete(XMapperParameter parameter) {
-        return SQL_CACHE.computeIfAbsent(
-                cacheKey(parameter, "delete"), k -> buildDelete(parameter));
+        // 빈 where-map 과 PK 삭제는 shape 가 같으므로(0) 캐시를 거치지 않고 바로 거부한다.
+        if (parameter.getWhere() instanceof Map<?, ?> where && where.isEmpty()) {
+            return buildDelete(parameter);
+        }
+        return resolve(parameter, Operation.DELETE);
     }
 
     public String findById(XMapperParameter parameter) {
-        return SQL_CACHE.computeIfAbsent(
-                cacheKey(parameter, "findById"), k -> buildFindById(parameter));
+        return resolve(parameter, Operation.FIND_BY_ID);
+    }
+
+    /**
+     * {@code WHERE pk IN (...)} for the key list in {@code where}; one template per list size,
+     * so callers should pad the list to a bounded set of sizes.
+     */
+    public String findByIds(XMapperParameter parameter) {
+        return resolve(parameter, Operation.FIND_BY_IDS);
     }
 
     public String findAll(XMapperParameter parameter) {
-        return SQL_CACHE.computeIfAbsent(
-                cacheKey(parameter, "findAll"), k -> buildFindAll(parameter));
+        return resolve(parameter, Operation.FIND_ALL);
     }
 
     public String findWhere(XMapperParameter parameter) {
-        return SQL_CACHE.computeIfAbsent(
-                cacheKey(parameter, "findWhere"), k -> buildFindWhere(parameter));
+        return resolve(parameter, Operation.FIND_WHERE);
     }
 
     public String count(XMapperParameter parameter) {
-        return SQL_CACHE.computeIfAbsent(
-                cacheKey(parameter, "count"), k -> buildCount(parameter));
+        return resolve(parameter, Operation.COUNT);
     }
 
     public String findOneBy(XMapperParameter parameter) {
-        return SQL_CACHE.computeIfAbsent(
-                cacheKey(parameter, "findOneBy"), k -> buildFindOneBy(parameter));
+        return resolve(parameter, Operation.FIND_ONE_BY);
     }
 
     public String upsert(XMapperParameter parameter) {
-        return SQL_CACHE.computeIfAbsent(
-                cacheKey(parameter, "upsert"), k -> buildUpsert(parameter));
+        return resolve(parameter, Operation.UPSERT);
+    }
+
+    public String upsertAll(XMapperParameter parameter) {
+        return resolve(parameter, Operation.UPSERT_ALL);
+    }
+
+    public String upsertAllNonNull(XMapperParameter parameter) {
+        return resolve(parameter, Operation.UPSERT_ALL_NON_NULL);
+    }
+
+    // ──────────────────────────────────────────
+    // Template lookup
+    // ──────────────────────────────────────────
+
+    /**
+     * Returns the cached template for (entity, operation, where shape), building it on first use.
+     * The hit path is a class-keyed map lookup, an array index and a binary search.
+     */
+    private String resolve(XMapperParameter parameter, Operation operation) {
+        EntitySqlTemplates templates = templatesFor(parameter.getResultClass());
+        if (!templates.isShapeable()) {
+            return SQL_CACHE.computeIfAbsent(cacheKey(parameter, operation), k -> build(operation, parameter));
+        }
+
+        long shape = operation == Operation.FIND_BY_IDS
+                ? keyCount(parameter)
+                : whereShape(parameter, templates.getMetadata());
+        long projection = projectionShape(parameter, templates.getMetadata());
+        String sql = templates.get(operation, shape, projection);
+        if (sql == null) {
+            sql = templates.putIfAbsent(operation, shape, projection, build(operation, parameter));
+        }
+        return sql;
+    }
+
+    private EntitySqlTemplates templatesFor(Class<?> modelClass) {
+        EntitySqlTemplates templates = TEMPLATES.get(modelClass);
+        if (templates != null) {
+            return templates;
+        }
+        return TEMPLATES.computeIfAbsent(modelClass,
+                c -> new EntitySqlTemplates(METADATA_FACTORY.getMetadata(c, null), OPERATION_COUNT));
+    }
+
+    /**
+     * Bitmask of the where-map keys by column ordinal. Values don't affect the template
+     * (MyBatis uses #{} placeholders), so only the key set matters; non-map where values
+     * (primary keys) and empty maps have shape 0.
+     */
+    private long whereShape(XMapperParameter parameter, EntityMetadata metadata) {
+        if (!(parameter.getWhere() instanceof Map<?, ?> where) || where.isEmpty()) {
+            return 0L;
+        }
+        long shape = 0L;
+        for (Object key : where.keySet()) {
+            ColumnMetadata column = metadata.getColumn((String) key);
+            if (column == null) {
+                throw unknownWhereKey((String) key, metadata);
+            }
+            shape |= 1L << column.getOrdinal();
+        }
+        return shape;
+    }
+
+    /** Bitmask of the projected columns by ordinal; 0 selects every column. */
+    private long projectionShape(XMapperParameter parameter, EntityMetadata metadata) {
+        Projection projection = parameter.getProjection();
+        if (projection == null) {
+            return 0L;
+        }
+        long shape = 0L;
+        for (String field : projection.getFields()) {
+            shape |= 1L << projectedColumn(field, metadata).getOrdinal();
+        }
+        return shape;
+    }
+
+    /** Size of the key list of a FIND_BY_IDS call, which is also its template shape. */
+    private int keyCount(XMapperParameter parameter) {
+        if (!(parameter.getWhere() instanceof List<?> keys) || keys.isEmpty()) {
+            throw new IllegalArgumentException("findByIds requires a non-empty key list");
+        }
+        return keys.size();
+    }
+
+    private String build(Operation operation, XMapperParameter parameter) {
+        return switch (operation) {
+            case INSERT -> buildInsert(parameter);
+            case INSERT_ALL -> buildInsertAll(parameter);
+            case UPDATE -> buildUpdate(parameter);
+            case SELECTIVE_UPDATE -> buildSelectiveUpdate(parameter);
+            case DELETE -> buildDelete(parameter);
+            case FIND_BY_ID -> buildFindById(parameter);
+            case FIND_ALL -> buildFindAll(parameter);
+            case FIND_WHERE -> buildFindWhere(parameter);
+            case COUNT -> buildCount(parameter);
+            case FIND_ONE_BY -> buildFindOneBy(parameter);
+            case UPSERT -> buildUpsert(parameter);
+            case INSERT_IGNORE -> buildInsertIgnore(parameter);
+            case UPSERT_ALL -> buildUpsertAll(parameter, false);
+            case UPSERT_ALL_NON_NULL -> buildUpsertAll(parameter, true);
+            case FIND_BY_IDS -> buildFindByIds(parameter);
+        };
     }
 
     // ──────────────────────────────────────────
-    // SQL build methods (called once per unique key)
+    // SQL build methods (called once per template)
     // ──────────────────────────────────────────
 
     private String buildInsert(XMapperParameter parameter) {
@@ -130,30 +250,29 @@ public class CrudSqlProvider {
      */
     private String buildInsertAll(XMapperParameter parameter) {
         EntityMetadata metadata = getMetadata(parameter);
-        String columns = metadata.getInsertableColumns().stream()
-                .filter(c -> !c.isAutoIncrement())
-                .filter(c -> !(c.isDBDefaultUsed() && c.resolveInsertValue() == null))
-                .map(ColumnMetadata::getColumnName)
-                .collect(Collectors.joining(", "));
-
-        String values = metadata.getInsertableColumns().stream()
-                .filter(c -> !c.isAutoIncrement())
-                .filter(c -> !(c.isDBDefaultUsed() && c.resolveInsertValue() == null))
-                .map(c -> {
-                    String v = c.resolveInsertValue();
-                    return v != null ? v : "#{item." + c.getFieldName() + "}";
-                })
-                .collect(Collectors.joining(", "));
+        List<ColumnMetadata> insertColumns = bulkInsertColumns(metadata);
 
         return "<script>"
-                + "INSERT IGNORE INTO " + metadata.getTableName() + " (" + columns + ") "
+                + "INSERT IGNORE INTO " + metadata.getTableName() + " (" + columnList(insertColumns) + ") "
                 + "VALUES "
                 + "<foreach collection='model' item='item' separator=','>"
-                + "(" + values + ")"
+                + "(" + bulkInsertValues(insertColumns, "item") + ")"
                 + "</foreach>"
                 + "</script>";
     }
 
+    /**
+     * Single-row form of {@link #buildInsertAll} for JDBC batch execution.
+     * Column list is fixed (no null skipping) so every row binds to the same prepared statement.
+     */
+    private String buildInsertIgnore(XMapperParameter parameter) {
+        EntityMetadata metadata = getMetadata(parameter);
+        List<ColumnMetadata> insertColumns = bulkInsertColumns(metadata);
+
+        return "INSERT IGNORE INTO " + metadata.getTableName() + " (" + columnList(insertColumns) + ") "
+                + "VALUES (" + bulkInsertValues(insertColumns, "model") + ")";
+    }
+
     private String buildUpdate(XMapperParameter parameter) {
         EntityMetadata metadata = getMetadata(parameter);
         Map<String, Object> where = asWhereMap(parameter);
@@ -266,7 +385,7 @@ public class CrudSqlProvider {
         EntityMetadata metadata = getMetadata(parameter);
         boolean compositeKey = metadata.getPrimaryKeyColumns().size() > 1;
         return new SQL() {{
-            SELECT(selectAllColumns(metadata));
+            SELECT(selectColumns(metadata, parameter));
             FROM(metadata.getTableName());
             for (ColumnMetadata pkColumn : metadata.getPrimaryKeyColumns()) {
                 if (compositeKey) {
@@ -278,13 +397,48 @@ public class CrudSqlProvider {
         }}.toString();
     }
 
+    /**
+     * 단일 PK: {@code id IN (#{where[0]}, ...)}, 복합 PK: {@code (a, b) IN ((#{where[0].a}, #{where[0].b}), ...)}
+     */
+    private String buildFindByIds(XMapperParameter parameter) {
+        EntityMetadata metadata = getMetadata(parameter);
+        int keyCount = keyCount(parameter);
+        List<ColumnMetadata> pkColumns = metadata.getPrimaryKeyColumns();
+        boolean compositeKey = pkColumns.size() > 1;
+
+        StringBuilder sb = new StringBuilder("SELECT ");
+        sb.append(selectColumns(metadata, parameter));
+        sb.append("\nFROM ").append(metadata.getTableName());
+        sb.append("\nWHERE ");
+        if (compositeKey) {
+            sb.append('(').append(columnList(pkColumns)).append(") IN (");
+        } else {
+            sb.append(pkColumns.get(0).getColumnName()).append(" IN (");
+        }
+        for (int i = 0; i < keyCount; i++) {
+            if (i > 0) sb.append(", ");
+            if (compositeKey) {
+                sb.append('(');
+                for (int c = 0; c < pkColumns.size(); c++) {
+                    if (c > 0) sb.append(", ");
+                    sb.append("#{where[").append(i).append("].").append(pkColumns.get(c).getFieldName()).append('}');
+                }
+                sb.append(')');
+            } else {
+                sb.append("#{where[").append(i).append("]}");
+            }
+        }
+        sb.append(')');
+        return sb.toString();
+    }
+
     private String buildFindAll(XMapperParameter parameter) {
         EntityMetadata metadata = getMetadata(parameter);
         Map<String, Object> where = asWhereMap(parameter);
         validateWhereKeys(where, metadata);
 
         return new SQL() {{
-            SELECT(selectAllColumns(metadata));
+            SELECT(selectColumns(metadata, parameter));
             FROM(metadata.getTableName());
             if (where != null && !where.isEmpty()) {
                 where.forEach((key, value) -> {
@@ -307,7 +461,7 @@ public class CrudSqlProvider {
         validateWhereKeys(where, metadata);
 
         return new SQL() {{
-            SELECT(selectAllColumns(metadata));
+            SELECT(selectColumns(metadata, parameter));
             FROM(metadata.getTableName());
             if (!where.isEmpty()) {
                 where.forEach((key, value) -> {
@@ -345,7 +499,7 @@ public class CrudSqlProvider {
         validateWhereKeys(where, metadata);
 
         return new SQL() {{
-            SELECT(selectAllColumns(metadata));
+            SELECT(selectColumns(metadata, parameter));
             FROM(metadata.getTableName());
             if (where != null && !where.isEmpty()) {
                 where.forEach((key, value) -> {
@@ -415,22 +569,63 @@ public class CrudSqlProvider {
         return sb.toString();
     }
 
+    /**
+     * Multi-row INSERT ... ON DUPLICATE KEY UPDATE.
+     * PK 컬럼은 auto-increment 여부와 관계없이 포함한다 — null 이면 새 ID 를 발급받고, 값이 있으면 기존 행과 충돌하여 UPDATE 된다.
+     *
+     * @param nonNullOnly true 면 {@code COALESCE(VALUES(col), col)} 로 null 값이 기존 값을 덮어쓰지 않는다
+     */
+    private String buildUpsertAll(XMapperParameter parameter, boolean nonNullOnly) {
+        EntityMetadata metadata = getMetadata(parameter);
+
+        List<ColumnMetadata> insertColumns = metadata.getInsertableColumns().stream()
+                .filter(c -> c.isPrimaryKey() || !c.isAutoIncrement())
+                .filter(c -> !(c.isDBDefaultUsed() && c.resolveInsertValue() == null))
+                .toList();
+
+        String updateSet = metadata.getUpdatableColumns().stream()
+                .filter(c -> !c.isPrimaryKey())
+                .filter(c -> c.resolveUpdateValue() != null || insertColumns.contains(c))
+                .map(c -> {
+                    String v = c.resolveUpdateValue();
+                    if (v != null) {
+                        return c.getColumnName() + " = " + v;
+                    }
+                    String inserted = "VALUES(" + c.getColumnName() + ")";
+                    return c.getColumnName() + " = "
+                            + (nonNullOnly ? "COALESCE(" + inserted + ", " + c.getColumnName() + ")" : inserted);
+                })
+                .collect(Collectors.joining(", "));
+
+        if (updateSet.isEmpty()) {
+            // 갱신할 컬럼이 없으면 PK 자기 대입으로 중복 행을 그대로 둔다
+            String pk = metadata.getPrimaryKeyColumns().get(0).getColumnName();
+            updateSet = pk + " = " + pk;
+        }
+
+        return "<script>"
+                + "INSERT INTO " + metadata.getTableName() + " (" + columnList(insertColumns) + ") "
+                + "VALUES "
+                + "<foreach collection='model' item='item' separator=','>"
+                + "(" + bulkInsertValues(insertColumns, "item") + ")"
+                + "</foreach>"
+                + " ON DUPLICATE KEY UPDATE " + updateSet
+                + "</script>";
+    }
+
     // ──────────────────────────────────────────
     // Cache key & helpers
     // ──────────────────────────────────────────
 
     /**
-     * Cache key format: "ClassName:operation[:whereField1,whereField2,...]"
-     *
-     * The where field names determine the SQL template structure.
-     * Actual values don't affect the template (MyBatis uses #{} placeholders),
-     * so only the key set is included.
+     * Fallback cache key for entities with more than 64 columns.
+     * Format: "ClassName:OPERATION[:whereField1,whereField2,...|:keyCount][:select=field1,...]"
      *
      * ORDER BY is excluded from the cache key since it's appended dynamically.
      */
-    private String cacheKey(XMapperParameter parameter, String operation) {
+    private String cacheKey(XMapperParameter parameter, Operation operation) {
         StringBuilder key = new StringBuilder(parameter.getResultClass().getName())
-                .append(':').append(operation);
+                .append(':').append(operation.name());
 
         if (parameter.getWhere() instanceof Map) {
             @SuppressWarnings("unchecked")
@@ -439,6 +634,13 @@ public class CrudSqlProvider {
                 key.append(':');
                 key.append(whereMap.keySet().stream().sorted().collect(Collectors.joining(",")));
             }
+        } else if (parameter.getWhere() instanceof List<?> keys) {
+            key.append(':').append(keys.size());
+        }
+
+        if (parameter.getProjection() != null) {
+            key.append(":select=");
+            key.append(parameter.getProjection().getFields().stream().sorted().collect(Collectors.joining(",")));
         }
 
         return key.toString();
@@ -450,6 +652,54 @@ public class CrudSqlProvider {
         return (parameter.getWhere() instanceof Map) ? (Map<String, Object>) parameter.getWhere() : null;
     }
 
+    /** Insert columns shared by the bulk insert forms: no auto-increment, no DB-default-only columns. */
+    private List<ColumnMetadata> bulkInsertColumns(EntityMetadata metadata) {
+        return metadata.getInsertableColumns().stream()
+                .filter(c -> !c.isAutoIncrement())
+                .filter(c -> !(c.isDBDefaultUsed() && c.resolveInsertValue() == null))
+                .toList();
+    }
+
+    private String columnList(List<ColumnMetadata> columns) {
+        return columns.stream()
+                .map(ColumnMetadata::getColumnName)
+                .collect(Collectors.joining(", "));
+    }
+
+    private String bulkInsertValues(List<ColumnMetadata> columns, String item) {
+        return columns.stream()
+                .map(c -> {
+                    String v = c.resolveInsertValue();
+                    return v != null ? v : "#{" + item + "." + c.getFieldName() + "}";
+                })
+                .collect(Collectors.joining(", "));
+    }
+
+    /** Projected columns in entity column order, or every column without a projection. */
+    private String selectColumns(EntityMetadata metadata, XMapperParameter parameter) {
+        Projection projection = parameter.getProjection();
+        if (projection == null) {
+            return selectAllColumns(metadata);
+        }
+        for (String field : projection.getFields()) {
+            projectedColumn(field, metadata);
+        }
+        return metadata.getColumns().values().stream()
+                .filter(c -> projection.getFields().contains(c.getFieldName()))
+                .map(ColumnMetadata::getColumnName)
+                .collect(Collectors.joining(", "));
+    }
+
+    private ColumnMetadata projectedColumn(String field, EntityMetadata metadata) {
+        ColumnMetadata column = metadata.getColumn(field);
+        if (column == null) {
+            throw new IllegalArgumentException(
+                    "Unknown projection field '" + field + "' for entity " + metadata.getTableName()
+                    + ". Valid fields: " + metadata.getColumns().keySet());
+        }
+        return column;
+    }
+
     private String selectAllColumns(EntityMetadata metadata) {
         return metadata.getColumns().values().stream()
                 .map(ColumnMetadata::getColumnName)
@@ -460,13 +710,17 @@ public class CrudSqlProvider {
         if (where == null || where.isEmpty()) return;
         for (String key : where.keySet()) {
             if (metadata.getColumn(key) == null) {
-                throw new IllegalArgumentException(
-                        "Unknown column key '" + key + "' for entity " + metadata.getTableName()
-                        + ". Valid keys: " + metadata.getColumns().keySet());
+                throw unknownWhereKey(key, metadata);
             }
         }
     }
 
+    private IllegalArgumentException unknownWhereKey(String key, EntityMetadata metadata) {
+        return new IllegalArgumentException(
+                "Unknown column key '" + key + "' for entity " + metadata.getTableName()
+                + ". Valid keys: " + metadata.getColumns().keySet());
+    }
+
     private EntityMetadata getMetadata(XMapperParameter parameter) {
         Class<?> modelClass = parameter.getResultClass();
         return METADATA_FACTORY.getMetadata(modelClass, null);
@@ -0,0 +1,111 @@
+package one.axim.framework.mybatis.provider;
+
+import one.axim.framework.mybatis.meta.EntityMetadata;
+
+/**
+ * Per-entity SQL template table used by {@link CrudSqlProvider}.
+ *
+ * <p>Templates are addressed by {@link CrudSqlProvider.Operation} and a <em>shape</em>: a bitmask
+ * of the where-map keys built from {@link one.axim.framework.mybatis.meta.ColumnMetadata#getOrdinal()},
+ * paired with a bitmask of the projected columns (0 = all columns).
+ * A lookup is one array index plus a binary search over the few shapes an operation has seen, so
+ * the hot path needs no string building, sorting or allocation.</p>
+ *
+ * <p>Each operation keeps an immutable snapshot that is replaced copy-on-write when a new shape
+ * is added; readers never lock.</p>
+ */
+final class EntitySqlTemplates {
+
+    private final EntityMetadata metadata;
+    private final boolean shapeable;
+    private final ShapeTable[] tables;
+
+    EntitySqlTemplates(EntityMetadata metadata, int operationCount) {
+        this.metadata = metadata;
+        // where shape / projection 은 long 비트마스크이므로 컬럼이 64개를 넘는 엔티티는 문자열 키로 폴백한다.
+        this.shapeable = metadata.getColumns().size() <= Long.SIZE;
+        this.tables = new ShapeTable[operationCount];
+        for (int i = 0; i < operationCount; i++) {
+            tables[i] = new ShapeTable();
+        }
+    }
+
+    EntityMetadata getMetadata() {
+        return metadata;
+    }
+
+    /** {@code false} when the entity has more columns than fit in a {@code long} shape. */
+    boolean isShapeable() {
+        return shapeable;
+    }
+
+    String get(CrudSqlProvider.Operation operation, long shape, long projection) {
+        return tables[operation.ordinal()].get(shape, projection);
+    }
+
+    /** Stores {@code sql} unless another thread got there first; returns the winning template. */
+    String putIfAbsent(CrudSqlProvider.Operation operation, long shape, long projection, String sql) {
+        return tables[operation.ordinal()].putIfAbsent(shape, projection, sql);
+    }
+
+    private static final class ShapeTable {
+
+        /** Parallel arrays sorted by (shape, projection). */
+        private record Snapshot(long[] shapes, long[] projections, String[] sqls) {}
+
+        private volatile Snapshot snapshot = new Snapshot(new long[0], new long[0], new String[0]);
+
+        String get(long shape, long projection) {
+            Snapshot s = snapshot;
+            int i = search(s, shape, projection);
+            return i >= 0 ? s.sqls[i] : null;
+        }
+
+        synchronized String putIfAbsent(long shape, long projection, String sql) {
+            Snapshot s = snapshot;
+            int i = search(s, shape, projection);
+            if (i >= 0) {
+                return s.sqls[i];
+            }
+
+            int insertAt = -(i + 1);
+            int size = s.shapes.length;
+            long[] shapes = new long[size + 1];
+            long[] projections = new long[size + 1];
+            String[] sqls = new String[size + 1];
+            System.arraycopy(s.shapes, 0, shapes, 0, insertAt);
+            System.arraycopy(s.projections, 0, projections, 0, insertAt);
+            System.arraycopy(s.sqls, 0, sqls, 0, insertAt);
+            shapes[insertAt] = shape;
+            projections[insertAt] = projection;
+            sqls[insertAt] = sql;
+            System.arraycopy(s.shapes, insertAt, shapes, insertAt + 1, size - insertAt);
+            System.arraycopy(s.projections, insertAt, projections, insertAt + 1, size - insertAt);
+            System.arraycopy(s.sqls, insertAt, sqls, insertAt + 1, size - insertAt);
+
+            snapshot = new Snapshot(shapes, projections, sqls);
+            return sql;
+        }
+
+        /** {@link java.util.Arrays#binarySearch(long[], long)} contract over the (shape, projection) pairs. */
+        private static int search(Snapshot s, long shape, long projection) {
+            int low = 0;
+            int high = s.shapes.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = Long.compare(s.shapes[mid], shape);
+                if (cmp == 0) {
+                    cmp = Long.compare(s.projections[mid], projection);
+                }
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package one.axim.framework.mybatis.provider;
+
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link XMLLanguageDriver} that parses each {@link CrudSqlProvider} template only once.
+ *
+ * <p>MyBatis' {@code ProviderSqlSource} hands the provider's SQL string to the language driver
+ * on every mapper invocation, so {@code <script>}/{@code <trim>}/{@code <if>}/{@code <foreach>}
+ * templates would otherwise be re-parsed into a new {@code DynamicSqlSource} per call.
+ * {@link CrudSqlProvider} already returns the same cached {@code String} instance for a given
+ * template, so the template text itself is used as the cache key — lookups hit the cached
+ * hash code and an identity {@code equals}.</p>
+ *
+ * <p>The parsed {@code DynamicSqlSource}/{@code RawSqlSource} objects are stateless and safe to
+ * share between threads. The cache is bounded by the number of distinct templates, which is the
+ * same bound {@code CrudSqlProvider} already has. Every {@code CommonMapper} statement takes an
+ * {@code XMapperParameter}, so the parameter type does not take part in the key.</p>
+ *
+ * <p>Registered per statement via {@code @Lang(XCachingLanguageDriver.class)} on
+ * {@link one.axim.framework.mybatis.mapper.CommonMapper}.</p>
+ */
+public class XCachingLanguageDriver extends XMLLanguageDriver {
+
+    private final ConcurrentHashMap<String, SqlSource> sqlSourceCache = new ConcurrentHashMap<>();
+
+    @Override
+    public SqlSource createSqlSource(Configuration configuration, String script, Class<?> parameterType) {
+        SqlSource sqlSource = sqlSourceCache.get(script);
+        if (sqlSource != null) {
+            return sqlSource;
+        }
+        return sqlSourceCache.computeIfAbsent(script,
+                s -> super.createSqlSource(configuration, s, parameterType));
+    }
+}
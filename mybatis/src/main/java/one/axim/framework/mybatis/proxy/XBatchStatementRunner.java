@@ -0,0 +1,81 @@
+package one.axim.framework.mybatis.proxy;
+
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Executes one mapped statement for many parameter objects as JDBC batches.
+ *
+ * <p>Opens its own {@link ExecutorType#BATCH} session, so consecutive rows reuse a single
+ * prepared statement and are sent with {@code executeBatch()} once per chunk. With
+ * mybatis-spring the session's {@code SpringManagedTransaction} borrows the connection bound to
+ * the current Spring transaction, so the batch commits or rolls back with it; outside a
+ * transaction the batch is committed when the run completes.</p>
+ */
+public class XBatchStatementRunner {
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final SqlSession sharedSession;
+
+    /**
+     * @param sqlSessionFactory factory used to open the batch session
+     * @param sharedSession     the session the mapper proxies use (e.g. {@code SqlSessionTemplate});
+     *                          its local cache is cleared after each run so reads in the same
+     *                          transaction see the batched rows. May be {@code null}.
+     */
+    public XBatchStatementRunner(SqlSessionFactory sqlSessionFactory, SqlSession sharedSession) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.sharedSession = sharedSession;
+    }
+
+    /**
+     * Runs {@code statement} once per parameter, flushing every {@code chunkSize} rows.
+     *
+     * @return per-parameter update counts in input order; drivers that rewrite batches may
+     *         report {@link Statement#SUCCESS_NO_INFO} instead of a row count
+     */
+    public int[] run(String statement, List<?> parameters, int chunkSize) {
+        int[] counts = new int[parameters.size()];
+        int position = 0;
+
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            for (int from = 0; from < parameters.size(); from += chunkSize) {
+                int to = Math.min(from + chunkSize, parameters.size());
+                for (Object parameter : parameters.subList(from, to)) {
+                    session.update(statement, parameter);
+                }
+                for (BatchResult result : session.flushStatements()) {
+                    int[] updateCounts = result.getUpdateCounts();
+                    System.arraycopy(updateCounts, 0, counts, position, updateCounts.length);
+                    position += updateCounts.length;
+                }
+            }
+            session.commit();
+        } finally {
+            if (sharedSession != null) {
+                sharedSession.clearCache();
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Sums update counts, counting {@link Statement#SUCCESS_NO_INFO} as one row.
+     */
+    public static int affectedRows(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            if (count == Statement.SUCCESS_NO_INFO) {
+                total++;
+            } else if (count > 0) {
+                total += count;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,89 @@
+package one.axim.framework.mybatis.proxy;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Read-only where-map over a derived query call: the field names are parsed once per method and
+ * the values are the call's argument array, so binding a call copies nothing.
+ *
+ * <p>{@code findByPartnerIdAndStatus(7L, "ACTIVE")} → {@code {partnerId=7, status=ACTIVE}}</p>
+ */
+final class XDerivedWhere extends AbstractMap<String, Object> {
+
+    private final String[] fields;
+    private final Object[] values;
+
+    XDerivedWhere(String[] fields, Object[] values) {
+        this.fields = fields;
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        return fields.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        for (int i = 0; i < fields.length; i++) {
+            action.accept(fields[i], values[i]);
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return fields.length;
+            }
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < fields.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (next >= fields.length) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, Object> entry = new SimpleImmutableEntry<>(fields[next], values[next]);
+                        next++;
+                        return entry;
+                    }
+                };
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
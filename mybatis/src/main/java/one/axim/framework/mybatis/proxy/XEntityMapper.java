@@ -0,0 +1,201 @@
+package one.axim.framework.mybatis.proxy;
+
+import one.axim.framework.mybatis.mapper.CommonMapper;
+import one.axim.framework.mybatis.meta.ColumnMetadata;
+import one.axim.framework.mybatis.meta.EntityMetadata;
+import one.axim.framework.mybatis.model.XMapperParameter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultFlag;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.type.TypeHandler;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link CommonMapper} whose reads run statements registered for one entity.
+ *
+ * <p>The shared {@code CommonMapper} selects return an erased {@code <T>}, so every read needs
+ * {@code XResultInterceptor} to swap the result type and MyBatis auto-mapping to discover the
+ * columns of each result set. {@link #register} copies those selects once per entity under the
+ * entity's class name (e.g. {@code com.example.User.findById}) with an explicit {@link ResultMap}
+ * built from {@link EntityMetadata}: one mapping per column, type handlers resolved up front and
+ * auto-mapping off. Writes and {@code count} still go through the shared mapper.</p>
+ */
+@Slf4j
+public class XEntityMapper implements CommonMapper {
+
+    /** CommonMapper select statements that map rows to the entity. */
+    static final List<String> READ_STATEMENTS =
+            List.of("findById", "findByIds", "findOneBy", "findAll", "findWhere", "streamAll", "streamWhere");
+
+    private final CommonMapper delegate;
+    private final SqlSession sqlSession;
+    private final String namespace;
+
+    public XEntityMapper(CommonMapper delegate, SqlSession sqlSession, String namespace) {
+        this.delegate = delegate;
+        this.sqlSession = sqlSession;
+        this.namespace = namespace;
+    }
+
+    /**
+     * Registers the entity's read statements and result map in {@code configuration} unless
+     * another repository of the same entity already did.
+     *
+     * @return the statement namespace to pass to {@link #XEntityMapper}
+     */
+    public static String register(Configuration configuration, EntityMetadata metadata) {
+        String namespace = metadata.getModelClass().getName();
+        synchronized (configuration) {
+            if (configuration.hasStatement(namespace + ".findById", false)) {
+                return namespace;
+            }
+            ResultMap resultMap = resultMap(configuration, metadata, namespace + ".XEntityResult");
+            configuration.addResultMap(resultMap);
+            for (String statement : READ_STATEMENTS) {
+                MappedStatement source =
+                        configuration.getMappedStatement(CommonMapper.class.getName() + "." + statement);
+                configuration.addMappedStatement(copy(source, namespace + "." + statement, resultMap));
+            }
+        }
+        log.debug("Registered entity statements for {}", namespace);
+        return namespace;
+    }
+
+    private static ResultMap resultMap(Configuration configuration, EntityMetadata metadata, String id) {
+        TypeHandlerRegistry registry = configuration.getTypeHandlerRegistry();
+        List<ResultMapping> mappings = new ArrayList<>();
+        for (ColumnMetadata column : metadata.getColumns().values()) {
+            Class<?> javaType = column.getPropertyDescriptor().getPropertyType();
+            TypeHandler<?> typeHandler = registry.getTypeHandler(javaType);
+            if (typeHandler == null) {
+                // auto-mapping 도 타입 핸들러가 없는 컬럼은 채우지 않는다
+                log.debug("No type handler for {}.{} ({}), not mapped",
+                        metadata.getModelClass().getSimpleName(), column.getFieldName(), javaType.getName());
+                continue;
+            }
+            ResultMapping.Builder mapping = new ResultMapping.Builder(configuration, column.getFieldName(),
+                    column.getColumnName().replace("`", ""), typeHandler).javaType(javaType);
+            if (column.isPrimaryKey()) {
+                mapping.flags(List.of(ResultFlag.ID));
+            }
+            mappings.add(mapping.build());
+        }
+        return new ResultMap.Builder(configuration, id, metadata.getModelClass(), mappings, false).build();
+    }
+
+    private static MappedStatement copy(MappedStatement ms, String id, ResultMap resultMap) {
+        MappedStatement.Builder builder =
+                new MappedStatement.Builder(ms.getConfiguration(), id, ms.getSqlSource(), ms.getSqlCommandType());
+        builder.resource(ms.getResource());
+        builder.fetchSize(ms.getFetchSize());
+        builder.timeout(ms.getTimeout());
+        builder.statementType(ms.getStatementType());
+        builder.resultSetType(ms.getResultSetType());
+        builder.parameterMap(ms.getParameterMap());
+        builder.resultMaps(List.of(resultMap));
+        builder.cache(ms.getCache());
+        builder.flushCacheRequired(ms.isFlushCacheRequired());
+        builder.useCache(ms.isUseCache());
+        builder.lang(ms.getLang());
+        builder.databaseId(ms.getDatabaseId());
+        return builder.build();
+    }
+
+    @Override
+    public Long insertAndSelectKey(XMapperParameter model) {
+        return delegate.insertAndSelectKey(model);
+    }
+
+    @Override
+    public Long insert(XMapperParameter model) {
+        return delegate.insert(model);
+    }
+
+    @Override
+    public int upsert(XMapperParameter model) {
+        return delegate.upsert(model);
+    }
+
+    @Override
+    public int upsertAll(XMapperParameter model) {
+        return delegate.upsertAll(model);
+    }
+
+    @Override
+    public int upsertAllNonNull(XMapperParameter model) {
+        return delegate.upsertAllNonNull(model);
+    }
+
+    @Override
+    public Long insertAll(XMapperParameter model) {
+        return delegate.insertAll(model);
+    }
+
+    @Override
+    public int insertIgnore(XMapperParameter model) {
+        return delegate.insertIgnore(model);
+    }
+
+    @Override
+    public int delete(XMapperParameter model) {
+        return delegate.delete(model);
+    }
+
+    @Override
+    public int update(XMapperParameter model) {
+        return delegate.update(model);
+    }
+
+    @Override
+    public int selectiveUpdate(XMapperParameter model) {
+        return delegate.selectiveUpdate(model);
+    }
+
+    @Override
+    public <T> T findById(XMapperParameter model) {
+        return sqlSession.selectOne(namespace + ".findById", model);
+    }
+
+    @Override
+    public <T> List<T> findByIds(XMapperParameter model) {
+        return sqlSession.selectList(namespace + ".findByIds", model);
+    }
+
+    @Override
+    public <T> T findOneBy(XMapperParameter model) {
+        return sqlSession.selectOne(namespace + ".findOneBy", model);
+    }
+
+    @Override
+    public long count(XMapperParameter model) {
+        return delegate.count(model);
+    }
+
+    @Override
+    public <T> List<T> findAll(XMapperParameter model) {
+        return sqlSession.selectList(namespace + ".findAll", model);
+    }
+
+    @Override
+    public <T> List<T> findWhere(XMapperParameter model) {
+        return sqlSession.selectList(namespace + ".findWhere", model);
+    }
+
+    @Override
+    public <T> Cursor<T> streamAll(XMapperParameter model) {
+        return sqlSession.selectCursor(namespace + ".streamAll", model);
+    }
+
+    @Override
+    public <T> Cursor<T> streamWhere(XMapperParameter model) {
+        return sqlSession.selectCursor(namespace + ".streamWhere", model);
+    }
+}
@@ -0,0 +1,229 @@
+package one.axim.framework.mybatis.proxy;
+
+import one.axim.framework.mybatis.annotation.XEntityCache;
+import one.axim.framework.mybatis.meta.EntityMetadata;
+import one.axim.framework.mybatis.repository.XRepositoryConfig;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read-through primary-key cache behind {@code findOne}/{@code exists} of one entity class.
+ *
+ * <p>Entries expire after the TTL; when the cache is full, expired entries are dropped first and
+ * then about a tenth of the remaining ones. Concurrent misses on the same key share one database
+ * load. A load that overlaps an invalidation is returned but not cached, so a write can never be
+ * overwritten by the row it replaced. Callers always receive their own shallow copy of the entity.</p>
+ *
+ * <p>Caches are created on first use for entities annotated with {@link XEntityCache} or listed in
+ * {@code axim.mybatis.entity-cache.tables}; {@link #statistics()} exposes their counters.</p>
+ */
+public final class XEntityReadCache {
+
+    /** Hit/miss/eviction counters of one entity cache. */
+    public record Stats(long hits, long misses, long evictions, int size) {
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    private static final Object ABSENT = new Object();
+    private static final Map<Class<?>, Optional<XEntityReadCache>> CACHES = new ConcurrentHashMap<>();
+
+    private final String tableName;
+    private final Class<?> modelClass;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    /** Bumped by every invalidation; loads that started under an older generation are not stored. */
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private XEntityReadCache(String tableName, Class<?> modelClass, Duration ttl, int maxSize) {
+        this.tableName = tableName;
+        this.modelClass = modelClass;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the cache of the entity, or {@code null} when caching is not enabled for it
+     */
+    static XEntityReadCache forEntity(EntityMetadata metadata) {
+        return CACHES.computeIfAbsent(metadata.getModelClass(), modelClass -> Optional.ofNullable(create(metadata)))
+                .orElse(null);
+    }
+
+    private static XEntityReadCache create(EntityMetadata metadata) {
+        Class<?> modelClass = metadata.getModelClass();
+        XEntityCache annotation = modelClass.getAnnotation(XEntityCache.class);
+        if (annotation == null && !configuredTable(metadata.getTableName())) {
+            return null;
+        }
+        Duration ttl = annotation == null || annotation.ttl().isBlank()
+                ? XRepositoryConfig.getEntityCacheTtl()
+                : DurationStyle.detectAndParse(annotation.ttl().trim());
+        int maxSize = annotation == null || annotation.maxSize() <= 0
+                ? XRepositoryConfig.getEntityCacheSize()
+                : annotation.maxSize();
+        if (ttl.isZero() || ttl.isNegative()) {
+            return null;
+        }
+        return new XEntityReadCache(metadata.getTableName().replace("`", ""), modelClass, ttl, maxSize);
+    }
+
+    private static boolean configuredTable(String tableName) {
+        String table = tableName.replace("`", "").toLowerCase();
+        return XRepositoryConfig.getEntityCacheTables().contains(table)
+                || XRepositoryConfig.getEntityCacheTables().contains(table.substring(table.lastIndexOf('.') + 1));
+    }
+
+    /**
+     * @return counters of every entity cache created so far, by (unquoted) table name
+     */
+    public static Map<String, Stats> statistics() {
+        Map<String, Stats> statistics = new LinkedHashMap<>();
+        CACHES.values().forEach(cache -> cache.ifPresent(c -> statistics.put(c.tableName, c.stats())));
+        return statistics;
+    }
+
+    /**
+     * Drops every entity cache; they are re-created from the current configuration on next use.
+     */
+    public static void clearAll() {
+        CACHES.clear();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    /**
+     * Returns the cached row for {@code key}, loading it with {@code loader} on a miss.
+     * A {@code null} result is cached as well, so {@code exists} on missing keys stays cheap.
+     */
+    Object get(Object key, Supplier<Object> loader) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt() - System.nanoTime() > 0) {
+                hits.increment();
+                return copy(entry.value());
+            }
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return copy(await(inFlight));
+        }
+        long startGeneration = generation.get();
+        try {
+            Object value = loader.get();
+            Object stored = value == null ? ABSENT : copy(value);
+            if (generation.get() == startGeneration) {
+                put(key, stored);
+            }
+            load.complete(stored);
+            return value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Evicts the given keys now and again once the current transaction (if any) completes, so
+     * rows read by other threads before the commit do not outlive it.
+     */
+    void invalidate(Collection<?> keys) {
+        Runnable eviction = () -> {
+            generation.incrementAndGet();
+            keys.forEach(entries::remove);
+        };
+        eviction.run();
+        afterCompletion(eviction);
+    }
+
+    /**
+     * Evicts every key, now and after the current transaction completes.
+     */
+    void invalidateAll() {
+        Runnable eviction = () -> {
+            generation.incrementAndGet();
+            entries.clear();
+        };
+        eviction.run();
+        afterCompletion(eviction);
+    }
+
+    private void put(Object key, Object value) {
+        if (entries.size() >= maxSize) {
+            long now = System.nanoTime();
+            int before = entries.size();
+            entries.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+            // 만료 항목만으로 부족하면 임의 순서로 약 10% 를 더 비운다
+            int target = maxSize - Math.max(1, maxSize / 10);
+            Iterator<Object> it = entries.keySet().iterator();
+            while (entries.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+            evictions.add(Math.max(0, before - entries.size()));
+        }
+        entries.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+    }
+
+    private Object copy(Object value) {
+        if (value == ABSENT || value == null) {
+            return null;
+        }
+        Object copy = BeanUtils.instantiateClass(modelClass);
+        BeanUtils.copyProperties(value, copy);
+        return copy;
+    }
+
+    private static Object await(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void afterCompletion(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
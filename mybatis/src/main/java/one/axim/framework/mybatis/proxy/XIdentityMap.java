@@ -0,0 +1,111 @@
+package one.axim.framework.mybatis.proxy;
+
+import one.axim.framework.mybatis.repository.XRepositoryConfig;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * First-level cache of entities loaded by key within one unit of work.
+ *
+ * <p>While a scope is open, {@code findOne}, {@code exists}, {@code findAllByIds} and
+ * {@code findMapByIds} return the instance already loaded for the same (entity, key) instead of
+ * querying again — repeated lookups return the <em>same</em> object. Any repository write on an
+ * entity clears that entity's entries, and the whole map is dropped when the scope ends.</p>
+ *
+ * <p>Scopes are opened automatically per {@code axim.mybatis.identity-map.scope}
+ * ({@link XRepositoryConfig.IdentityMapScope}).</p>
+ *
+ * <p>Code outside both (batch jobs, consumers) can open a scope explicitly regardless of the setting:</p>
+ * <pre>{@code
+ * try (XIdentityMap.Scope scope = XIdentityMap.open()) {
+ *     handle(message);
+ * }
+ * }</pre>
+ */
+public final class XIdentityMap {
+
+    /** entity class → key → loaded row ({@code Optional.empty()} for a key known to be missing) */
+    private static final ThreadLocal<Map<Class<?>, Map<Object, Optional<Object>>>> OPENED = new ThreadLocal<>();
+
+    private XIdentityMap() {
+    }
+
+    /**
+     * Opens an identity-map scope on the current thread. Closing a nested scope leaves the outer one open.
+     */
+    public static Scope open() {
+        if (OPENED.get() != null) {
+            return new Scope(false);
+        }
+        OPENED.set(new HashMap<>());
+        return new Scope(true);
+    }
+
+    /**
+     * @return the entries of {@code modelClass} in the current scope, or {@code null} outside any scope
+     */
+    static Map<Object, Optional<Object>> entries(Class<?> modelClass) {
+        Map<Class<?>, Map<Object, Optional<Object>>> maps = OPENED.get();
+        if (maps == null) {
+            maps = transactionMaps();
+        }
+        return maps == null ? null : maps.computeIfAbsent(modelClass, type -> new HashMap<>());
+    }
+
+    /**
+     * Drops the entries of {@code modelClass} in the current scope, if any.
+     */
+    static void clear(Class<?> modelClass) {
+        Map<Class<?>, Map<Object, Optional<Object>>> maps = OPENED.get();
+        if (maps == null && TransactionSynchronizationManager.hasResource(XIdentityMap.class)) {
+            maps = transactionMaps();
+        }
+        if (maps != null) {
+            maps.remove(modelClass);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Class<?>, Map<Object, Optional<Object>>> transactionMaps() {
+        if (XRepositoryConfig.getIdentityMapScope() == XRepositoryConfig.IdentityMapScope.OFF
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<Class<?>, Map<Object, Optional<Object>>> maps =
+                (Map<Class<?>, Map<Object, Optional<Object>>>) TransactionSynchronizationManager.getResource(XIdentityMap.class);
+        if (maps == null) {
+            maps = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(XIdentityMap.class, maps);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(XIdentityMap.class);
+                }
+            });
+        }
+        return maps;
+    }
+
+    /**
+     * An open identity-map scope; closing the outermost scope discards its entities.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final boolean outermost;
+
+        private Scope(boolean outermost) {
+            this.outermost = outermost;
+        }
+
+        @Override
+        public void close() {
+            if (outermost) {
+                OPENED.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package one.axim.framework.mybatis.proxy;
+
+import one.axim.framework.mybatis.meta.ColumnMetadata;
+import one.axim.framework.mybatis.meta.EntityMetadata;
+import one.axim.framework.mybatis.repository.Projection;
+import one.axim.framework.mybatis.utils.ColumnSpec;
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts partially loaded entities into the record or class a derived query method returns.
+ *
+ * <p>{@code List<UserSummary> findByStatus(String status)} with
+ * {@code record UserSummary(Long id, String name)} selects only {@code id, name} and builds one
+ * {@code UserSummary} per row. Record components (or, for classes, writable properties) are
+ * matched to entity fields by name.</p>
+ */
+final class XProjectionMapper {
+
+    private final Projection projection;
+    private final ColumnMetadata[] sources;
+    private final Constructor<?> recordConstructor;
+    private final Constructor<?> beanConstructor;
+    private final Method[] beanSetters;
+    /** Record component or property names, aligned with {@link #sources}. */
+    private final String[] targetNames;
+    /** Primitive target types, aligned with {@link #sources}; {@code null} for reference types. */
+    private final Class<?>[] primitiveTypes;
+
+    private XProjectionMapper(Projection projection, ColumnMetadata[] sources, Constructor<?> recordConstructor,
+                              Constructor<?> beanConstructor, Method[] beanSetters, Class<?>[] targetTypes) {
+        this.projection = projection;
+        this.sources = sources;
+        this.recordConstructor = recordConstructor;
+        this.beanConstructor = beanConstructor;
+        this.beanSetters = beanSetters;
+        this.targetNames = projection.getFields().toArray(new String[0]);
+        this.primitiveTypes = new Class<?>[targetTypes.length];
+        for (int i = 0; i < targetTypes.length; i++) {
+            this.primitiveTypes[i] = targetTypes[i].isPrimitive() ? targetTypes[i] : null;
+        }
+    }
+
+    /**
+     * Returns a mapper when the derived method's element type is a projection type, or
+     * {@code null} when it returns the entity itself (or something we don't project).
+     */
+    static XProjectionMapper forMethod(Method method, boolean isList, EntityMetadata metadata) {
+        Class<?> target = isList ? listElementType(method) : method.getReturnType();
+        if (target == null
+                || target.isAssignableFrom(metadata.getModelClass())
+                || target.isInterface()
+                || target.isPrimitive()
+                || ColumnSpec.isNormalType(target)) {
+            return null;
+        }
+        return target.isRecord() ? forRecord(target, metadata) : forBean(target, metadata);
+    }
+
+    Projection getProjection() {
+        return projection;
+    }
+
+    Object convert(Object entity) {
+        if (entity == null) {
+            return null;
+        }
+        try {
+            Object[] values = new Object[sources.length];
+            for (int i = 0; i < sources.length; i++) {
+                values[i] = sources[i].getValue(entity);
+                if (values[i] == null && primitiveTypes[i] != null) {
+                    throw new IllegalStateException("Column " + sources[i].getColumnName() + " is NULL but "
+                            + targetType().getSimpleName() + "." + targetNames[i] + " is a primitive "
+                            + primitiveTypes[i].getName() + "; use its wrapper type");
+                }
+            }
+            if (recordConstructor != null) {
+                return recordConstructor.newInstance(values);
+            }
+            Object target = beanConstructor.newInstance();
+            for (int i = 0; i < beanSetters.length; i++) {
+                beanSetters[i].invoke(target, values[i]);
+            }
+            return target;
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            // IllegalArgumentException: 컬럼 값 타입이 컴포넌트/setter 타입과 맞지 않는다
+            throw new RuntimeException("Could not convert " + entity.getClass().getSimpleName()
+                    + " to projection " + targetType().getSimpleName() + " " + projection.getFields(), e);
+        }
+    }
+
+    private Class<?> targetType() {
+        return (recordConstructor != null ? recordConstructor : beanConstructor).getDeclaringClass();
+    }
+
+    List<Object> convertAll(List<?> entities) {
+        if (entities == null) {
+            return null;
+        }
+        List<Object> converted = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            converted.add(convert(entity));
+        }
+        return converted;
+    }
+
+    private static XProjectionMapper forRecord(Class<?> target, EntityMetadata metadata) {
+        RecordComponent[] components = target.getRecordComponents();
+        ColumnMetadata[] sources = new ColumnMetadata[components.length];
+        Class<?>[] types = new Class<?>[components.length];
+        String[] fields = new String[components.length];
+        for (int i = 0; i < components.length; i++) {
+            sources[i] = sourceColumn(target, components[i].getName(), metadata);
+            types[i] = components[i].getType();
+            fields[i] = components[i].getName();
+        }
+        try {
+            Constructor<?> constructor = target.getDeclaredConstructor(types);
+            constructor.setAccessible(true);
+            return new XProjectionMapper(Projection.of(fields), sources, constructor, null, null, types);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Projection record " + target.getName() + " has no canonical constructor", e);
+        }
+    }
+
+    private static XProjectionMapper forBean(Class<?> target, EntityMetadata metadata) {
+        List<ColumnMetadata> sources = new ArrayList<>();
+        List<Method> setters = new ArrayList<>();
+        for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(target)) {
+            ColumnMetadata column = metadata.getColumn(pd.getName());
+            if (pd.getWriteMethod() != null && column != null) {
+                sources.add(column);
+                setters.add(pd.getWriteMethod());
+            }
+        }
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("Projection class " + target.getName()
+                    + " has no writable property matching a column of " + metadata.getTableName());
+        }
+        try {
+            Constructor<?> constructor = target.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return new XProjectionMapper(
+                    Projection.of(sources.stream().map(ColumnMetadata::getFieldName).toArray(String[]::new)),
+                    sources.toArray(new ColumnMetadata[0]), null, constructor, setters.toArray(new Method[0]),
+                    setters.stream().map(setter -> setter.getParameterTypes()[0]).toArray(Class<?>[]::new));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Projection class " + target.getName() + " has no no-arg constructor", e);
+        }
+    }
+
+    private static ColumnMetadata sourceColumn(Class<?> target, String field, EntityMetadata metadata) {
+        ColumnMetadata column = metadata.getColumn(field);
+        if (column == null) {
+            throw new IllegalArgumentException("Projection " + target.getName() + " component '" + field
+                    + "' does not match a column of " + metadata.getTableName()
+                    + ". Valid fields: " + metadata.getColumns().keySet());
+        }
+        return column;
+    }
+
+    private static Class<?> listElementType(Method method) {
+        Type type = method.getGenericReturnType();
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> element) {
+            return element;
+        }
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package one.axim.framework.mybatis.proxy;
 
 import one.axim.framework.mybatis.annotation.XRepositoryScan;
+import org.springframework.aot.AotDetector;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
@@ -17,6 +18,10 @@ public class XRepositoryBeanDefinitionRegistryPostProcessor implements BeanDefin
 
     @Override
     public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) throws BeansException {
+        if (AotDetector.useGeneratedArtifacts()) {
+            // AOT 로 생성된 빈 정의가 이미 등록되어 있으므로 classpath 스캔을 건너뛴다
+            return;
+        }
         String[] basePackages = getBasePackages();
         if (basePackages.length > 0) {
             XRepositoryBeanScanner scanner = new XRepositoryBeanScanner(registry);
@@ -2,6 +2,7 @@ package one.axim.framework.mybatis.proxy;
 
 import one.axim.framework.mybatis.annotation.XRepository;
 import one.axim.framework.mybatis.repository.IXRepository;
+import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
@@ -50,6 +51,8 @@ public class XRepositoryBeanScanner extends ClassPathBeanDefinitionScanner {
             beanDefinition.getConstructorArgumentValues().addGenericArgumentValue(keyClass);
             beanDefinition.getConstructorArgumentValues().addGenericArgumentValue(modelClass);
             beanDefinition.setAutowireMode(GenericBeanDefinition.AUTOWIRE_BY_TYPE);
+            // 타입 매칭을 위해 FactoryBean 을 미리 생성하지 않도록
+            beanDefinition.setAttribute(FactoryBean.OBJECT_TYPE_ATTRIBUTE, repositoryInterface);
 
         } catch (ClassNotFoundException e) {
             throw new RuntimeException(e);
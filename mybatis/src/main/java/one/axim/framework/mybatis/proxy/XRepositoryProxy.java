@@ -5,33 +5,96 @@ import one.axim.framework.mybatis.meta.ColumnMetadata;
 import one.axim.framework.mybatis.meta.EntityMetadata;
 import one.axim.framework.mybatis.meta.EntityMetadataFactory;
 import one.axim.framework.mybatis.model.XMapperParameter;
+import one.axim.framework.mybatis.plugin.XCountCache;
+import one.axim.framework.mybatis.plugin.XSqlMetrics;
+import one.axim.framework.mybatis.repository.Projection;
+import one.axim.framework.mybatis.repository.XRepositoryConfig;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.Configuration;
+import org.springframework.beans.BeanInstantiationException;
 import org.springframework.beans.BeanUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.beans.PropertyDescriptor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
 @Slf4j
 public class XRepositoryProxy implements InvocationHandler {
 
     private static final EntityMetadataFactory METADATA_FACTORY = new EntityMetadataFactory();
+    private static final String INSERT_IGNORE_STATEMENT = CommonMapper.class.getName() + ".insertIgnore";
+    private static final String UPDATE_STATEMENT = CommonMapper.class.getName() + ".update";
+    private static final String SELECTIVE_UPDATE_STATEMENT = CommonMapper.class.getName() + ".selectiveUpdate";
+    /** Methods that write the entity table; cached pagination counts for it are dropped afterwards. */
+    private static final Set<String> WRITE_METHODS = Set.of("save", "insert", "saveAll", "upsertAll", "update",
+            "modify", "updateAll", "modifyAll", "delete", "deleteById", "remove", "deleteWhere");
+    /** Derived query prefixes; a method named exactly like one has no field to filter by. */
+    private static final Set<String> DERIVED_PREFIXES = Set.of("findAllBy", "findBy", "countBy", "existsBy", "deleteBy");
+
     private final CommonMapper commonMapper;
+    /** JDBC batch path for saveAll; null when no SqlSessionFactory is available. */
+    private final XBatchStatementRunner batchRunner;
+    /** Session-owning cursor path for streamAll/streamWhere; null when no SqlSessionFactory is available. */
+    private final XStreamStatementRunner streamRunner;
     private final Class<?> repositoryInterface;
     private final EntityMetadata entityMetadata;
 
-    /** Method → parsed camelCase field names cache (e.g. findByPartnerIdAndStatus → ["partnerId", "status"]) */
-    private final ConcurrentHashMap<Method, String[]> methodFieldCache = new ConcurrentHashMap<>();
+    /** Derived query methods and unsupported methods seen while compiling, checked by {@link #prewarm} */
+    private final List<DerivedQuery> derivedQueries = new ArrayList<>();
+    private final List<Method> unsupportedMethods = new ArrayList<>();
+    /** Repository method → compiled handler, built once in the constructor */
+    private final Map<Method, MethodHandler> handlers;
+
+    /**
+     * Compiled implementation of one repository method. Classes generated by
+     * {@code XRepositoryProcessor} call it directly instead of going through a JDK proxy.
+     */
+    @FunctionalInterface
+    public interface MethodHandler {
+        Object invoke(Object[] args);
+    }
+
+    /**
+     * A compiled derived method: the {@link CommonMapper} statement it runs, its where fields and,
+     * for record/DTO returns, the projection (or the error that prevented building one).
+     */
+    private record DerivedQuery(Method method, String statement, String[] fields,
+                                Projection projection, IllegalArgumentException projectionError) {
+    }
 
     public XRepositoryProxy(CommonMapper commonMapper, Class<?> repositoryInterface, Class<?> keyClass, Class<?> modelClass) {
+        this(commonMapper, null, repositoryInterface, keyClass, modelClass);
+    }
+
+    public XRepositoryProxy(CommonMapper commonMapper, XBatchStatementRunner batchRunner,
+                            Class<?> repositoryInterface, Class<?> keyClass, Class<?> modelClass) {
+        this(commonMapper, batchRunner, null, repositoryInterface, keyClass, modelClass);
+    }
+
+    public XRepositoryProxy(CommonMapper commonMapper, XBatchStatementRunner batchRunner,
+                            XStreamStatementRunner streamRunner, Class<?> repositoryInterface,
+                            Class<?> keyClass, Class<?> modelClass) {
         this.commonMapper = commonMapper;
+        this.batchRunner = batchRunner;
+        this.streamRunner = streamRunner;
         this.repositoryInterface = repositoryInterface;
         this.entityMetadata = METADATA_FACTORY.getMetadata(modelClass, keyClass);
+        this.handlers = buildHandlers(repositoryInterface);
     }
 
     @Override
@@ -40,65 +103,322 @@ public class XRepositoryProxy implements InvocationHandler {
             return method.invoke(this, args);
         }
 
-        // Handle standard CRUD methods
+        MethodHandler handler = handlers.get(method);
+        if (handler == null) {
+            throw new UnsupportedOperationException("Unsupported method: " + method.getName());
+        }
+        return handler.invoke(args);
+    }
+
+    /**
+     * Returns the compiled handler of a repository interface method, for generated repository
+     * classes that resolve their handlers once at construction.
+     */
+    public MethodHandler handler(Method method) {
+        MethodHandler handler = handlers.get(method);
+        if (handler == null) {
+            return args -> {
+                throw new UnsupportedOperationException("Unsupported method: " + method.getName());
+            };
+        }
+        return handler;
+    }
+
+    // ──────────────────────────────────────────
+    // Method dispatch table
+    // ──────────────────────────────────────────
+
+    /**
+     * Compiles one handler per repository method. Overloads are resolved by parameter types here,
+     * and derived methods get their field names and projection up front, so a call is a single
+     * map lookup.
+     */
+    private Map<Method, MethodHandler> buildHandlers(Class<?> repositoryInterface) {
+        Map<Method, MethodHandler> table = new HashMap<>();
+        for (Method method : repositoryInterface.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            MethodHandler handler = compile(method);
+            String name = method.getName();
+            if (WRITE_METHODS.contains(name) || name.startsWith("deleteBy")) {
+                handler = invalidating(name, handler);
+            }
+            table.put(method, measured(name, handler));
+        }
+        return Map.copyOf(table);
+    }
+
+    /**
+     * Wraps a write handler so that cached counts, identity-map entries and entity-cache keys of
+     * this entity are dropped after the write, even when it fails.
+     */
+    private MethodHandler invalidating(String methodName, MethodHandler handler) {
+        return args -> {
+            try {
+                return handler.invoke(args);
+            } finally {
+                XCountCache.invalidate(entityMetadata.getTableName());
+                XIdentityMap.clear(entityMetadata.getModelClass());
+                evictWrittenKeys(methodName, args);
+            }
+        };
+    }
+
+    /**
+     * Reports the statements a call runs under {@code Entity.method} in {@link XSqlMetrics}.
+     */
+    private MethodHandler measured(String methodName, MethodHandler handler) {
+        XSqlMetrics.Target target = new XSqlMetrics.Target(entityMetadata.getModelClass().getSimpleName(), methodName);
+        return args -> {
+            if (!XSqlMetrics.isTracking()) {
+                return handler.invoke(args);
+            }
+            XSqlMetrics.Target previous = XSqlMetrics.enter(target);
+            try {
+                return handler.invoke(args);
+            } finally {
+                XSqlMetrics.exit(previous);
+            }
+        };
+    }
+
+    private MethodHandler compile(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
         switch (method.getName()) {
             case "save":
-                return handleSave(args[0]);
+                return args -> handleSave(args[0]);
             case "insert":
-                return handleInsert(args[0]);
+                return args -> handleInsert(args[0]);
             case "saveAll":
-                return handleSaveAll(args[0]);
+                return args -> handleSaveAll(args[0]);
+            case "upsertAll":
+                return parameterTypes.length > 1
+                        ? args -> handleUpsertAll(args[0], Boolean.TRUE.equals(args[1]))
+                        : args -> handleUpsertAll(args[0], false);
             case "update":
-                return handleUpdate(args[0]);
+                return args -> handleUpdate(args[0]);
             case "modify":
-                return handleModify(args[0]);
+                return args -> handleModify(args[0]);
+            case "updateAll":
+                return args -> handleUpdateAll(args[0], UPDATE_STATEMENT);
+            case "modifyAll":
+                return args -> handleUpdateAll(args[0], SELECTIVE_UPDATE_STATEMENT);
             case "delete":
             case "deleteById":
             case "remove":
-                return handleRemove(args[0]);
+                return args -> handleRemove(args[0]);
             case "findOne":
-                return handleFindOne(args[0]);
+                return args -> handleFindOne(args[0]);
             case "findAll":
-                if (args == null || args.length == 0) {
-                    return handleFindAll();
+                if (parameterTypes.length == 0) {
+                    return args -> handleFindAll(null);
+                } else if (parameterTypes[0] == Projection.class) {
+                    return args -> handleFindAll((Projection) args[0]);
                 } else {
-                    return handleFindAllPaginated(args[0], null);
+                    return args -> handleFindAllPaginated(args[0], null);
                 }
+            case "findAllByIds":
+                return args -> new ArrayList<>(handleFindMapByIds(args[0]).values());
+            case "findMapByIds":
+                return args -> handleFindMapByIds(args[0]);
             case "exists":
-                return handleExists(args[0]);
+                return args -> handleExists(args[0]);
             case "count":
-                if (args == null || args.length == 0) {
-                    return handleCount();
-                } else {
-                    return handleCountWithWhere(args[0]);
-                }
+                return parameterTypes.length == 0
+                        ? args -> handleCount()
+                        : args -> handleCountWithWhere(args[0]);
             case "findWhere":
-                if (args.length == 1) {
-                    return handleAllWhere(args[0]);
+                if (parameterTypes.length == 1) {
+                    return args -> handleAllWhere(args[0], null);
+                } else if (parameterTypes[1] == Projection.class) {
+                    return args -> handleAllWhere(args[0], (Projection) args[1]);
                 } else {
-                    return handleFindAllPaginated(args[0], args[1]);
+                    return args -> handleFindAllPaginated(args[0], args[1]);
                 }
             case "findOneWhere":
-                return handleWhere(args[0]);
+                return args -> handleWhere(args[0]);
+            case "streamAll":
+                return args -> handleStream(null);
+            case "streamWhere":
+                return args -> handleStream(args[0]);
+            case "forEach":
+                return args -> handleForEach(args[0], args[1]);
             case "deleteWhere":
-                return handleDeleteWhere(args[0]);
+                return args -> handleDeleteWhere(args[0]);
+            default:
+                return compileDerived(method);
         }
+    }
 
-        // Handle custom query derivation methods (longer prefixes checked first)
-        if (method.getName().startsWith("findAllBy")) {
-            return handleFindBy("findAllBy", method, args, false);
-        } else if (method.getName().startsWith("findBy")) {
+    /**
+     * Custom query derivation methods (longer prefixes checked first).
+     */
+    private MethodHandler compileDerived(Method method) {
+        String name = method.getName();
+        if (DERIVED_PREFIXES.contains(name)) {
+            return unsupported(method);
+        } else if (name.startsWith("findAllBy")) {
+            return compileFindBy(method, "findAllBy", false);
+        } else if (name.startsWith("findBy")) {
             boolean isList = method.getReturnType().isAssignableFrom(List.class);
-            return handleFindBy("findBy", method, args, !isList);
-        } else if (method.getName().startsWith("countBy")) {
-            return handleCountBy(method, args);
-        } else if (method.getName().startsWith("existsBy")) {
-            return handleExistsBy(method, args);
-        } else if (method.getName().startsWith("deleteBy")) {
-            return handleDeleteBy(method, args);
+            return compileFindBy(method, "findBy", !isList);
+        } else if (name.startsWith("countBy")) {
+            String[] fields = derived(method, "countBy", "count", null, null);
+            return args -> handleCountWithWhere(derivedWhere(name, fields, args));
+        } else if (name.startsWith("existsBy")) {
+            String[] fields = derived(method, "existsBy", "count", null, null);
+            return args -> (long) handleCountWithWhere(derivedWhere(name, fields, args)) > 0;
+        } else if (name.startsWith("deleteBy")) {
+            String[] fields = derived(method, "deleteBy", "delete", null, null);
+            return args -> handleDeleteWhere(derivedWhere(name, fields, args));
+        }
+        return unsupported(method);
+    }
+
+    /** Fails calls to {@code method} and records it for {@link #prewarm}. */
+    private MethodHandler unsupported(Method method) {
+        unsupportedMethods.add(method);
+        return args -> {
+            throw new UnsupportedOperationException("Unsupported method: " + method.getName());
+        };
+    }
+
+    private MethodHandler compileFindBy(Method method, String prefix, boolean isOne) {
+        String name = method.getName();
+        String statement = isOne ? "findOneBy" : "findWhere";
+        XProjectionMapper projectionMapper;
+        try {
+            projectionMapper = XProjectionMapper.forMethod(method, !isOne, entityMetadata);
+        } catch (IllegalArgumentException e) {
+            derived(method, prefix, statement, null, e);
+            // 잘못된 projection 타입은 기존처럼 호출 시점에 실패시킨다
+            return args -> {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            };
         }
+        String[] fields = derived(method, prefix, statement,
+                projectionMapper == null ? null : projectionMapper.getProjection(), null);
+        return args -> handleFindBy(derivedWhere(name, fields, args), projectionMapper, isOne);
+    }
 
-        throw new UnsupportedOperationException("Unsupported method: " + method.getName());
+    /** Parses the field names of a derived method and records it for {@link #prewarm}. */
+    private String[] derived(Method method, String prefix, String statement,
+                             Projection projection, IllegalArgumentException projectionError) {
+        String[] fields = parseFieldNames(method.getName(), prefix);
+        derivedQueries.add(new DerivedQuery(method, statement, fields, projection, projectionError));
+        return fields;
+    }
+
+    // ──────────────────────────────────────────
+    // Startup pre-warming
+    // ──────────────────────────────────────────
+
+    /**
+     * Validates every repository method against the entity metadata, then renders each SQL template
+     * the proxy can issue through {@code configuration}. Rendering goes through the mapped statements,
+     * so {@code CrudSqlProvider} and {@code XCachingLanguageDriver} caches are filled without touching
+     * the database.
+     *
+     * @param configuration MyBatis configuration that registered {@link CommonMapper};
+     *                      {@code null} only validates
+     * @throws IllegalStateException listing the methods that would fail at call time, or naming the
+     *                               statement that could not be rendered
+     */
+    void prewarm(Configuration configuration) {
+        validateMethods();
+        if (configuration == null) {
+            return;
+        }
+
+        int warmed = 0;
+        Object sample = sampleModel();
+        if (sample != null) {
+            for (String statement : List.of("insert", "insertIgnore", "upsert", "update", "selectiveUpdate")) {
+                warmed += warm(configuration, statement, new XMapperParameter(sample));
+            }
+            for (String statement : List.of("insertAll", "upsertAll", "upsertAllNonNull")) {
+                warmed += warm(configuration, statement, new XMapperParameter(List.of(sample)));
+            }
+        }
+        warmed += warm(configuration, "findById", parameter(null, null));
+        warmed += warm(configuration, "delete", parameter(null, null));
+        warmed += warm(configuration, "findAll", parameter(null, null));
+        warmed += warm(configuration, "count", parameter(null, null));
+
+        // padToBucket 이 만들 수 있는 IN 목록 크기: 1, 2, 4, ... , chunkSize
+        int chunkSize = XRepositoryConfig.getBatchChunkSize();
+        for (int bucket = 1; ; bucket <<= 1) {
+            int size = Math.min(bucket, chunkSize);
+            warmed += warm(configuration, "findByIds", parameter(new ArrayList<>(Collections.nCopies(size, null)), null));
+            if (size == chunkSize) {
+                break;
+            }
+        }
+
+        for (DerivedQuery query : derivedQueries) {
+            XMapperParameter parameter = parameter(
+                    new XDerivedWhere(query.fields(), new Object[query.fields().length]), query.projection());
+            warmed += warm(configuration, query.statement(), parameter);
+        }
+        log.debug("Prewarmed {} SQL templates for {}", warmed, repositoryInterface.getName());
+    }
+
+    private void validateMethods() {
+        List<String> problems = new ArrayList<>();
+        for (Method method : unsupportedMethods) {
+            problems.add(method.getName() + ": not a repository method or derived query");
+        }
+        for (DerivedQuery query : derivedQueries) {
+            String name = query.method().getName();
+            for (String field : query.fields()) {
+                if (entityMetadata.getColumn(field) == null) {
+                    problems.add(name + ": unknown field '" + field + "'");
+                }
+            }
+            if (query.method().getParameterCount() != query.fields().length) {
+                problems.add(name + ": expects " + query.fields().length + " arguments but declares "
+                        + query.method().getParameterCount());
+            }
+            if (query.projectionError() != null) {
+                problems.add(name + ": " + query.projectionError().getMessage());
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Invalid repository methods in " + repositoryInterface.getName()
+                    + " for entity " + entityMetadata.getTableName() + ": " + problems
+                    + ". Valid fields: " + entityMetadata.getColumns().keySet());
+        }
+    }
+
+    /** An empty entity for rendering write templates, or {@code null} when it has no no-arg constructor. */
+    private Object sampleModel() {
+        try {
+            return BeanUtils.instantiateClass(entityMetadata.getModelClass());
+        } catch (BeanInstantiationException e) {
+            log.debug("Skipping write templates of {}: {}", entityMetadata.getModelClass().getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private XMapperParameter parameter(Object where, Projection projection) {
+        XMapperParameter parameter = new XMapperParameter();
+        parameter.setResultClass(entityMetadata.getModelClass());
+        parameter.setWhere(where);
+        parameter.setProjection(projection);
+        return parameter;
+    }
+
+    private int warm(Configuration configuration, String statement, XMapperParameter parameter) {
+        parameter.setResultClass(entityMetadata.getModelClass());
+        String id = CommonMapper.class.getName() + "." + statement;
+        try {
+            configuration.getMappedStatement(id).getBoundSql(parameter);
+            return 1;
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Could not prepare " + statement + " for "
+                    + repositoryInterface.getName() + ": " + e.getMessage(), e);
+        }
     }
 
     private Object handleSave(Object model) {
@@ -108,7 +428,7 @@ public class XRepositoryProxy implements InvocationHandler {
             // Check whether all PK fields are set (non-null)
             boolean allPkSet = true;
             for (ColumnMetadata pkColumn : pkColumns) {
-                Object pkValue = pkColumn.getPropertyDescriptor().getReadMethod().invoke(model);
+                Object pkValue = pkColumn.getValue(model);
                 if (pkValue == null) {
                     allPkSet = false;
                     break;
@@ -176,8 +496,8 @@ public class XRepositoryProxy implements InvocationHandler {
             }
 
             try {
-                pkColumn.getPropertyDescriptor().getWriteMethod().invoke(model, convertedId);
-            } catch (Exception e) {
+                pkColumn.setValue(model, convertedId);
+            } catch (RuntimeException e) {
                 throw new RuntimeException("Could not set auto-increment ID on model after insert", e);
             }
             break; // only one auto-increment column expected
@@ -193,42 +513,84 @@ public class XRepositoryProxy implements InvocationHandler {
         List<ColumnMetadata> pkColumns = entityMetadata.getPrimaryKeyColumns();
         try {
             if (pkColumns.size() == 1) {
-                return pkColumns.get(0).getPropertyDescriptor().getReadMethod().invoke(model);
+                return pkColumns.get(0).getValue(model);
             }
 
             // Composite key: construct key class and populate PK fields
-            Object key = entityMetadata.getKeyClass().getDeclaredConstructor().newInstance();
-            for (ColumnMetadata pkColumn : pkColumns) {
-                Object value = pkColumn.getPropertyDescriptor().getReadMethod().invoke(model);
-                PropertyDescriptor keyPd = BeanUtils.getPropertyDescriptor(
-                        entityMetadata.getKeyClass(), pkColumn.getFieldName());
-                if (keyPd != null && keyPd.getWriteMethod() != null) {
-                    keyPd.getWriteMethod().invoke(key, value);
+            if (entityMetadata.getKeyFactory() == null) {
+                throw new IllegalStateException(entityMetadata.getKeyClass().getName() + " has no no-arg constructor");
+            }
+            Object key = entityMetadata.getKeyFactory().get();
+            List<BiConsumer<Object, Object>> keyWriters = entityMetadata.getKeyWriters();
+            for (int i = 0; i < pkColumns.size(); i++) {
+                if (keyWriters.get(i) != null) {
+                    keyWriters.get(i).accept(key, pkColumns.get(i).getValue(model));
                 }
             }
             return key;
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             throw new RuntimeException("Could not build return key after insert", e);
         }
     }
 
     private Object handleSaveAll(Object models) {
-        if (!(models instanceof Iterable)) {
-            throw new IllegalArgumentException("Argument for saveAll must be an Iterable.");
+        List<?> modelList = toList(models, "saveAll");
+        if (modelList.isEmpty()) {
+            return 0; // Return 0 for empty list
         }
 
-        List<Object> modelList = new ArrayList<>();
-        ((Iterable<?>) models).forEach(modelList::add);
+        int chunkSize = XRepositoryConfig.getBatchChunkSize();
+        if (XRepositoryConfig.getBatchMode() == XRepositoryConfig.BatchMode.JDBC && batchRunner != null) {
+            List<XMapperParameter> parameters = new ArrayList<>(modelList.size());
+            for (Object model : modelList) {
+                XMapperParameter parameter = new XMapperParameter(model);
+                parameter.setResultClass(entityMetadata.getModelClass());
+                parameters.add(parameter);
+            }
+            return XBatchStatementRunner.affectedRows(
+                    batchRunner.run(INSERT_IGNORE_STATEMENT, parameters, chunkSize));
+        }
+
+        return executeInChunks(modelList, parameter -> {
+            Long affectedRows = commonMapper.insertAll(parameter);
+            return affectedRows == null ? 0 : affectedRows.intValue();
+        });
+    }
 
+    private Object handleUpsertAll(Object models, boolean nonNullOnly) {
+        List<?> modelList = toList(models, "upsertAll");
         if (modelList.isEmpty()) {
-            return 0; // Return 0 for empty list
+            return 0;
         }
+        return executeInChunks(modelList,
+                nonNullOnly ? commonMapper::upsertAllNonNull : commonMapper::upsertAll);
+    }
 
-        XMapperParameter insertParameter = new XMapperParameter(modelList);
-        insertParameter.setResultClass(entityMetadata.getModelClass());
+    private List<?> toList(Object models, String methodName) {
+        if (models instanceof List<?> list) {
+            return list;
+        }
+        if (!(models instanceof Iterable)) {
+            throw new IllegalArgumentException("Argument for " + methodName + " must be an Iterable.");
+        }
+        List<Object> copy = new ArrayList<>();
+        ((Iterable<?>) models).forEach(copy::add);
+        return copy;
+    }
 
-        Long affectedRows = commonMapper.insertAll(insertParameter);
-        return affectedRows == null ? 0 : affectedRows.intValue();
+    /**
+     * 청크 단위 multi-row 문장 실행 — 한 문장이 max_allowed_packet 을 넘지 않도록 분할하고 영향 행 수를 합산한다.
+     */
+    private int executeInChunks(List<?> modelList, ToIntFunction<XMapperParameter> statement) {
+        int chunkSize = XRepositoryConfig.getBatchChunkSize();
+        int affectedRows = 0;
+        for (int from = 0; from < modelList.size(); from += chunkSize) {
+            List<?> chunk = modelList.subList(from, Math.min(from + chunkSize, modelList.size()));
+            XMapperParameter parameter = new XMapperParameter(chunk);
+            parameter.setResultClass(entityMetadata.getModelClass());
+            affectedRows += statement.applyAsInt(parameter);
+        }
+        return affectedRows;
     }
 
     private Object handleUpdate(Object model) {
@@ -243,6 +605,38 @@ public class XRepositoryProxy implements InvocationHandler {
         return commonMapper.selectiveUpdate(parameter);
     }
 
+    /**
+     * JDBC batch of update/selectiveUpdate; one mapper call per row when no batch runner exists.
+     */
+    private int[] handleUpdateAll(Object models, String statement) {
+        if (!(models instanceof List<?> modelList)) {
+            throw new IllegalArgumentException("Argument for updateAll/modifyAll must be a List.");
+        }
+
+        List<XMapperParameter> parameters = new ArrayList<>(modelList.size());
+        for (Object model : modelList) {
+            XMapperParameter parameter = new XMapperParameter(model);
+            parameter.setResultClass(entityMetadata.getModelClass());
+            parameters.add(parameter);
+        }
+
+        if (parameters.isEmpty()) {
+            return new int[0];
+        }
+        if (batchRunner != null) {
+            return batchRunner.run(statement, parameters, XRepositoryConfig.getBatchChunkSize());
+        }
+
+        int[] counts = new int[parameters.size()];
+        boolean selective = statement.equals(SELECTIVE_UPDATE_STATEMENT);
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = selective
+                    ? commonMapper.selectiveUpdate(parameters.get(i))
+                    : commonMapper.update(parameters.get(i));
+        }
+        return counts;
+    }
+
     private Object handleRemove(Object key) {
         XMapperParameter parameter = new XMapperParameter();
         parameter.setWhere(key);
@@ -251,15 +645,84 @@ public class XRepositoryProxy implements InvocationHandler {
     }
 
     private Object handleFindOne(Object key) {
+        Map<Object, Optional<Object>> identityMap = key == null ? null : XIdentityMap.entries(entityMetadata.getModelClass());
+        if (identityMap == null) {
+            return readOne(key);
+        }
+        Optional<Object> loaded = identityMap.get(key);
+        if (loaded == null) {
+            loaded = Optional.ofNullable(readOne(key));
+            identityMap.put(key, loaded);
+        }
+        return loaded.orElse(null);
+    }
+
+    private Object readOne(Object key) {
+        XEntityReadCache cache = XEntityReadCache.forEntity(entityMetadata);
+        // 읽기-쓰기 트랜잭션 안에서는 커밋되지 않은 행이 캐시에 들어가지 않도록 DB 를 직접 읽는다
+        if (cache == null || key == null
+                || (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return loadOne(key);
+        }
+        return cache.get(key, () -> loadOne(key));
+    }
+
+    private Object loadOne(Object key) {
         XMapperParameter parameter = new XMapperParameter();
         parameter.setWhere(key);
         parameter.setResultClass(entityMetadata.getModelClass());
         return commonMapper.findById(parameter);
     }
 
-    private Object handleFindAll() {
+    /**
+     * Evicts the entity-cache keys touched by a write method. Single-model writes evict the model's
+     * key; batch writes evict every key, or the whole cache when a key is not known up front
+     * (auto-increment inserts, {@code deleteWhere}, {@code deleteBy*}).
+     */
+    private void evictWrittenKeys(String methodName, Object[] args) {
+        XEntityReadCache cache = XEntityReadCache.forEntity(entityMetadata);
+        if (cache == null) {
+            return;
+        }
+        if (args == null || args.length == 0 || args[0] == null) {
+            cache.invalidateAll();
+            return;
+        }
+        switch (methodName) {
+            case "delete", "deleteById", "remove" -> cache.invalidate(List.of(args[0]));
+            case "save", "insert", "update", "modify", "saveAll", "upsertAll", "updateAll", "modifyAll" -> {
+                List<Object> keys = new ArrayList<>();
+                for (Object model : args[0] instanceof Iterable<?> models ? models : List.of(args[0])) {
+                    Object key = modelKey(model);
+                    if (key == null) {
+                        cache.invalidateAll();
+                        return;
+                    }
+                    keys.add(key);
+                }
+                cache.invalidate(keys);
+            }
+            default -> cache.invalidateAll();
+        }
+    }
+
+    /**
+     * @return the model's key, or {@code null} when a primary-key field is still unset
+     */
+    private Object modelKey(Object model) {
+        for (ColumnMetadata pkColumn : entityMetadata.getPrimaryKeyColumns()) {
+            if (pkColumn.getValue(model) == null) {
+                return null;
+            }
+        }
+        return buildReturnKey(model);
+    }
+
+    private Object handleFindAll(Projection projection) {
         XMapperParameter parameter = new XMapperParameter();
         parameter.setResultClass(entityMetadata.getModelClass());
+        parameter.setProjection(projection);
         return commonMapper.findAll(parameter);
     }
 
@@ -286,6 +749,90 @@ public class XRepositoryProxy implements InvocationHandler {
         return new one.axim.framework.core.data.XPage<>();
     }
 
+    /**
+     * Multi-get by primary key. Keys are de-duplicated and queried in chunks of the batch chunk
+     * size; each chunk is padded to a power-of-two bucket so only a handful of IN-list templates
+     * exist per entity. Rows come back in input key order, missing keys are omitted.
+     */
+    private Map<Object, Object> handleFindMapByIds(Object keys) {
+        if (!(keys instanceof Collection<?> keyCollection)) {
+            throw new IllegalArgumentException("Argument for findAllByIds/findMapByIds must be a Collection.");
+        }
+
+        List<Object> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keyCollection));
+        distinctKeys.remove(null);
+        if (distinctKeys.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+
+        // identity map 에 이미 있는 키는 조회하지 않는다
+        Map<Object, Optional<Object>> identityMap = XIdentityMap.entries(entityMetadata.getModelClass());
+        Map<Object, Object> rowsByKey = new HashMap<>(distinctKeys.size() * 2);
+        List<Object> missingKeys = distinctKeys;
+        if (identityMap != null) {
+            missingKeys = new ArrayList<>();
+            for (Object key : distinctKeys) {
+                Optional<Object> loaded = identityMap.get(key);
+                if (loaded == null) {
+                    missingKeys.add(key);
+                } else {
+                    loaded.ifPresent(row -> rowsByKey.put(key, row));
+                }
+            }
+        }
+
+        int chunkSize = XRepositoryConfig.getBatchChunkSize();
+        for (int from = 0; from < missingKeys.size(); from += chunkSize) {
+            List<Object> chunk = missingKeys.subList(from, Math.min(from + chunkSize, missingKeys.size()));
+
+            XMapperParameter parameter = new XMapperParameter();
+            parameter.setResultClass(entityMetadata.getModelClass());
+            parameter.setWhere(padToBucket(chunk, chunkSize));
+
+            List<Object> rows = commonMapper.findByIds(parameter);
+            if (rows != null) {
+                for (Object row : rows) {
+                    rowsByKey.put(buildReturnKey(row), row);
+                }
+            }
+        }
+        if (identityMap != null) {
+            for (Object key : missingKeys) {
+                identityMap.put(key, Optional.ofNullable(rowsByKey.get(key)));
+            }
+        }
+
+        Map<Object, Object> result = new LinkedHashMap<>(distinctKeys.size() * 2);
+        for (Object key : distinctKeys) {
+            Object row = rowsByKey.get(key);
+            if (row != null) {
+                result.put(key, row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pads the chunk to the next power of two (capped at the chunk size) by repeating its last key.
+     * 중복 키는 IN 결과에 영향이 없으므로 템플릿 수만 log2(chunkSize) 수준으로 줄어든다.
+     */
+    private static List<Object> padToBucket(List<Object> chunk, int chunkSize) {
+        int size = chunk.size();
+        int bucket = Integer.highestOneBit(size);
+        if (bucket < size) {
+            bucket <<= 1;
+        }
+        bucket = Math.min(bucket, chunkSize);
+
+        List<Object> padded = new ArrayList<>(bucket);
+        padded.addAll(chunk);
+        Object last = chunk.get(size - 1);
+        while (padded.size() < bucket) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
     private Object handleExists(Object key) {
         return handleFindOne(key) != null;
     }
@@ -303,89 +850,58 @@ public class XRepositoryProxy implements InvocationHandler {
         return commonMapper.count(parameter);
     }
 
-    private long handleCountBy(Method method, Object[] args) {
-        Map<String, Object> whereMap = buildWhereMap(method, "countBy", args);
-
-        XMapperParameter parameter = new XMapperParameter();
-        parameter.setResultClass(entityMetadata.getModelClass());
-        parameter.setWhere(whereMap);
-        return commonMapper.count(parameter);
-    }
-
-    private Object handleDeleteBy(Method method, Object[] args) {
-        Map<String, Object> whereMap = buildWhereMap(method, "deleteBy", args);
-
-        XMapperParameter parameter = new XMapperParameter();
-        parameter.setResultClass(entityMetadata.getModelClass());
-        parameter.setWhere(whereMap);
-        return commonMapper.delete(parameter);
-    }
-
-    private boolean handleExistsBy(Method method, Object[] args) {
-        Map<String, Object> whereMap = buildWhereMap(method, "existsBy", args);
-
+    private Object handleFindBy(Map<String, Object> whereMap, XProjectionMapper projectionMapper, boolean isOne) {
         XMapperParameter parameter = new XMapperParameter();
         parameter.setResultClass(entityMetadata.getModelClass());
         parameter.setWhere(whereMap);
-        long count = commonMapper.count(parameter);
-        return count > 0;
-    }
 
-    private Object handleFindBy(String prefixStr, Method method, Object[] args, boolean isOne) {
-        Map<String, Object> whereMap = buildWhereMap(method, prefixStr, args);
-
-        XMapperParameter parameter = new XMapperParameter();
-        parameter.setResultClass(entityMetadata.getModelClass());
-        parameter.setWhere(whereMap);
+        if (projectionMapper == null) {
+            if (isOne)
+                return commonMapper.findOneBy(parameter);
+            else
+                return commonMapper.findWhere(parameter);
+        }
 
+        // 레코드/DTO 반환 — 필요한 컬럼만 조회 후 변환
+        parameter.setProjection(projectionMapper.getProjection());
         if (isOne)
-            return commonMapper.findOneBy(parameter);
+            return projectionMapper.convert(commonMapper.findOneBy(parameter));
         else
-            return commonMapper.findWhere(parameter);
+            return projectionMapper.convertAll(commonMapper.findWhere(parameter));
     }
 
     // ──────────────────────────────────────────
-    // Method name parsing cache
+    // Method name parsing
     // ──────────────────────────────────────────
 
     /**
-     * Resolves and caches the camelCase field names parsed from a derived method name.
-     * e.g. findByPartnerIdAndStatus → ["partnerId", "status"] (parsed once, cached forever)
-     */
-    /**
-     * Splits on "And" only when it appears between two upper-case-starting segments.
+     * Parses the camelCase field names of a derived method name, once per method.
+     * e.g. findByPartnerIdAndStatus → ["partnerId", "status"]
+     *
+     * <p>Splits on "And" only when it appears between two upper-case-starting segments.
      * e.g. "PartnerIdAndStatus" → ["PartnerId", "Status"]
-     *      "BrandName"          → ["BrandName"]  (no false split)
+     *      "BrandName"          → ["BrandName"]  (no false split)</p>
      */
-    private String[] resolveFieldNames(Method method, String prefix) {
-        return methodFieldCache.computeIfAbsent(method, m -> {
-            String searchPart = m.getName().substring(prefix.length());
-            String[] rawFields = searchPart.split("(?<=[a-z0-9])And(?=[A-Z])");
-            String[] fields = new String[rawFields.length];
-            for (int i = 0; i < rawFields.length; i++) {
-                fields[i] = Character.toLowerCase(rawFields[i].charAt(0)) + rawFields[i].substring(1);
-            }
-            return fields;
-        });
+    private static String[] parseFieldNames(String methodName, String prefix) {
+        String searchPart = methodName.substring(prefix.length());
+        String[] rawFields = searchPart.split("(?<=[a-z0-9])And(?=[A-Z])");
+        String[] fields = new String[rawFields.length];
+        for (int i = 0; i < rawFields.length; i++) {
+            fields[i] = Character.toLowerCase(rawFields[i].charAt(0)) + rawFields[i].substring(1);
+        }
+        return fields;
     }
 
     /**
-     * Builds whereMap by zipping cached field names with runtime argument values.
+     * Binds the call arguments to the method's parsed field names.
      */
-    private Map<String, Object> buildWhereMap(Method method, String prefix, Object[] args) {
-        String[] fieldNames = resolveFieldNames(method, prefix);
-
+    private static Map<String, Object> derivedWhere(String methodName, String[] fieldNames, Object[] args) {
         if (args == null || args.length != fieldNames.length) {
             throw new IllegalArgumentException(
-                    "Invalid arguments for " + method.getName() +
+                    "Invalid arguments for " + methodName +
                     ". Expected " + fieldNames.length + " arguments, but got " + (args == null ? 0 : args.length) + ".");
         }
-
-        Map<String, Object> whereMap = new HashMap<>(fieldNames.length);
-        for (int i = 0; i < fieldNames.length; i++) {
-            whereMap.put(fieldNames[i], args[i]);
-        }
-        return whereMap;
+        return new XDerivedWhere(fieldNames, args);
     }
 
     @Override
@@ -408,10 +924,37 @@ public class XRepositoryProxy implements InvocationHandler {
         return commonMapper.delete(parameter);
     }
 
-    private Object handleAllWhere(Object where) {
+    private Object handleAllWhere(Object where, Projection projection) {
         XMapperParameter parameter = new XMapperParameter();
         parameter.setResultClass(entityMetadata.getModelClass());
         parameter.setWhere(where);
+        parameter.setProjection(projection);
         return commonMapper.findWhere(parameter);
     }
+
+    /**
+     * Opens a cursor over all rows ({@code where == null}) or the matching rows. Without a stream
+     * runner the shared mapper is used, whose cursor only stays readable inside a Spring transaction.
+     */
+    private Stream<Object> handleStream(Object where) {
+        XMapperParameter parameter = new XMapperParameter();
+        parameter.setResultClass(entityMetadata.getModelClass());
+        parameter.setWhere(where);
+        parameter.setFetchSize(XRepositoryConfig.getStreamFetchSize());
+        if (streamRunner != null) {
+            return streamRunner.stream(mapper -> where == null
+                    ? mapper.streamAll(parameter) : mapper.streamWhere(parameter));
+        }
+        return XStreamStatementRunner.asStream(where == null
+                ? commonMapper.streamAll(parameter) : commonMapper.streamWhere(parameter), null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object handleForEach(Object where, Object action) {
+        Object condition = where instanceof Map<?, ?> map && map.isEmpty() ? null : where;
+        try (Stream<Object> rows = handleStream(condition)) {
+            rows.forEach((Consumer<Object>) action);
+        }
+        return null;
+    }
 }
@@ -1,14 +1,37 @@
 package one.axim.framework.mybatis.proxy;
 
 import one.axim.framework.mybatis.mapper.CommonMapper;
+import one.axim.framework.mybatis.meta.EntityMetadataFactory;
+import one.axim.framework.mybatis.repository.XRepositoryConfig;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.springframework.beans.BeansException;
-import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.SmartFactoryBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Proxy;
 
-public class XRepositoryProxyFactoryBean implements FactoryBean<Object>, ApplicationContextAware {
+/**
+ * Creates the {@link XRepositoryProxy} behind a repository interface.
+ *
+ * <p>With {@code axim.mybatis.prewarm=true} the repository is created during context refresh
+ * instead of on first injection, and {@link XRepositoryProxy#prewarm} validates its methods and
+ * builds its SQL templates, so a bad derived method fails the startup.</p>
+ *
+ * <p>Reads run the entity's own statements registered by {@link XEntityMapper#register}, so rows
+ * are mapped through an explicit result map instead of a runtime result-type swap.</p>
+ *
+ * <p>When {@code XRepositoryProcessor} generated a class for the interface at build time, that class
+ * is instantiated around the proxy's handlers instead of a JDK proxy.</p>
+ */
+public class XRepositoryProxyFactoryBean implements SmartFactoryBean<Object>, ApplicationContextAware {
+
+    /** Suffix the annotation processor appends to the repository's binary name ({@code $} → {@code _}). */
+    public static final String GENERATED_SUFFIX = "_XRepository";
+
+    private static final EntityMetadataFactory METADATA_FACTORY = new EntityMetadataFactory();
 
     private Class<?> repositoryInterface;
     private Class<?> keyClass;
@@ -23,14 +46,52 @@ public class XRepositoryProxyFactoryBean implements FactoryBean<Object>, Applica
 
     @Override
     public Object getObject() throws Exception {
+        loadConfig();
         CommonMapper commonMapper = applicationContext.getBean(CommonMapper.class);
+        SqlSessionFactory sqlSessionFactory = applicationContext.getBeanProvider(SqlSessionFactory.class).getIfUnique();
+        SqlSession sqlSession = applicationContext.getBeanProvider(SqlSession.class).getIfUnique();
+        // 엔티티 전용 조회 statement 는 SqlSession(SqlSessionTemplate) 이 있어야 실행할 수 있다
+        String entityNamespace = null;
+        if (sqlSessionFactory != null && sqlSession != null) {
+            entityNamespace = XEntityMapper.register(sqlSessionFactory.getConfiguration(),
+                    METADATA_FACTORY.getMetadata(modelClass, keyClass));
+            commonMapper = new XEntityMapper(commonMapper, sqlSession, entityNamespace);
+        }
+        XBatchStatementRunner batchRunner = sqlSessionFactory == null ? null
+                : new XBatchStatementRunner(sqlSessionFactory, sqlSession);
+        XStreamStatementRunner streamRunner = sqlSessionFactory == null ? null
+                : new XStreamStatementRunner(sqlSessionFactory, entityNamespace);
+        XRepositoryProxy handler =
+                new XRepositoryProxy(commonMapper, batchRunner, streamRunner, repositoryInterface, keyClass, modelClass);
+        if (XRepositoryConfig.isPrewarm()) {
+            handler.prewarm(sqlSessionFactory == null ? null : sqlSessionFactory.getConfiguration());
+        }
+        Class<?> generated = generatedClass();
+        if (generated != null) {
+            Constructor<?> constructor = generated.getDeclaredConstructor(XRepositoryProxy.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance(handler);
+        }
         return Proxy.newProxyInstance(
                 repositoryInterface.getClassLoader(),
                 new Class<?>[]{repositoryInterface},
-                new XRepositoryProxy(commonMapper, repositoryInterface, keyClass, modelClass)
+                handler
         );
     }
 
+    /**
+     * 빌드 시 생성된 구현 클래스. 프로세서를 쓰지 않았거나 생성을 건너뛴 인터페이스는 null (JDK proxy 사용)
+     */
+    private Class<?> generatedClass() {
+        try {
+            Class<?> generated = Class.forName(repositoryInterface.getName().replace('$', '_') + GENERATED_SUFFIX,
+                    false, repositoryInterface.getClassLoader());
+            return repositoryInterface.isAssignableFrom(generated) ? generated : null;
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
     @Override
     public Class<?> getObjectType() {
         return repositoryInterface;
@@ -41,8 +102,21 @@ public class XRepositoryProxyFactoryBean implements FactoryBean<Object>, Applica
         return true;
     }
 
+    @Override
+    public boolean isEagerInit() {
+        loadConfig();
+        return XRepositoryConfig.isPrewarm();
+    }
+
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
     }
+
+    /**
+     * XRepositoryConfig 는 정적 설정이므로 프록시를 만들기 전에 생성되어 있어야 한다.
+     */
+    private void loadConfig() {
+        applicationContext.getBeanProvider(XRepositoryConfig.class).getIfAvailable();
+    }
 }
@@ -0,0 +1,71 @@
+package one.axim.framework.mybatis.proxy;
+
+import one.axim.framework.mybatis.mapper.CommonMapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs a {@link CommonMapper} cursor query on a session that stays open while the caller consumes
+ * the rows.
+ *
+ * <p>The mapper proxies used elsewhere close their session when the mapper call returns, which
+ * also closes any {@link Cursor}. This runner opens its own session per stream instead; with
+ * mybatis-spring it joins the connection of the current Spring transaction, otherwise it borrows
+ * a pooled connection until the stream is closed.</p>
+ */
+public class XStreamStatementRunner {
+
+    private final SqlSessionFactory sqlSessionFactory;
+    /** {@link XEntityMapper} statement namespace; null runs the shared CommonMapper statements. */
+    private final String entityNamespace;
+
+    public XStreamStatementRunner(SqlSessionFactory sqlSessionFactory) {
+        this(sqlSessionFactory, null);
+    }
+
+    public XStreamStatementRunner(SqlSessionFactory sqlSessionFactory, String entityNamespace) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.entityNamespace = entityNamespace;
+    }
+
+    /**
+     * @return a sequential stream over the cursor; closing it closes the cursor and the session
+     */
+    public <T> Stream<T> stream(Function<CommonMapper, Cursor<T>> query) {
+        SqlSession session = sqlSessionFactory.openSession();
+        try {
+            CommonMapper mapper = session.getMapper(CommonMapper.class);
+            if (entityNamespace != null) {
+                mapper = new XEntityMapper(mapper, session, entityNamespace);
+            }
+            return asStream(query.apply(mapper), session);
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Wraps {@code cursor} in a stream that closes the cursor and then {@code session} (if any).
+     */
+    static <T> Stream<T> asStream(Cursor<T> cursor, SqlSession session) {
+        return StreamSupport.stream(cursor.spliterator(), false).onClose(() -> {
+            try {
+                cursor.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                if (session != null) {
+                    session.close();
+                }
+            }
+        });
+    }
+}
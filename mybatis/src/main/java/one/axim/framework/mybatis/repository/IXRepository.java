@@ -3,8 +3,11 @@ package one.axim.framework.mybatis.repository;
 import one.axim.framework.core.data.XPage;
 import one.axim.framework.core.data.XPagination;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.apache.ibatis.annotations.SelectProvider;
 
 /**
@@ -64,11 +67,39 @@ public interface IXRepository<K, T> {
      * <p>배치 삽입에서는 중복 키 행이 건너뛰어지므로 "마지막 삽입 PK"는 의미가 모호하다.
      * 따라서 실제로 삽입된 행 수를 반환한다.</p>
      *
+     * <p>Rows are sent in chunks of {@code axim.mybatis.batch.chunk-size} (default 1000). With
+     * {@code axim.mybatis.batch.mode=jdbc} each chunk is a JDBC batch of single-row statements
+     * instead of one multi-row statement; drivers that cannot report per-row counts
+     * (e.g. {@code rewriteBatchedStatements=true}) count each row as inserted.</p>
+     *
      * @param entities the list of entities to insert
      * @return the number of rows actually inserted
      */
     int saveAll(List<T> entities);
 
+    /**
+     * Batch upsert — chunked multi-row {@code INSERT ... ON DUPLICATE KEY UPDATE col = VALUES(col)}.
+     *
+     * <p>Unlike {@link #saveAll(List)}, rows whose primary or unique key already exists are
+     * updated instead of skipped. Primary key columns are always inserted: a {@code null}
+     * auto-increment key gets a new ID (not set back on the entity).</p>
+     *
+     * @param entities the entities to insert or update
+     * @return the affected-row count reported by MySQL (1 per inserted row, 2 per changed row)
+     */
+    int upsertAll(List<T> entities);
+
+    /**
+     * Batch upsert that only overwrites existing columns with non-{@code null} values
+     * ({@code col = COALESCE(VALUES(col), col)}).
+     *
+     * @param entities    the entities to insert or update
+     * @param nonNullOnly {@code true} to keep existing column values where the entity field is {@code null}
+     * @return the affected-row count reported by MySQL
+     * @see #upsertAll(List)
+     */
+    int upsertAll(List<T> entities, boolean nonNullOnly);
+
     /**
      * Plain INSERT. The auto-generated ID (if any) is set on the entity after insertion.
      *
@@ -94,6 +125,32 @@ public interface IXRepository<K, T> {
      */
     int modify(T model);
 
+    /**
+     * Batch full UPDATE — {@link #update(Object)} for every entity, sent as JDBC batches of
+     * {@code axim.mybatis.batch.chunk-size} rows over one prepared statement.
+     *
+     * <p>Runs in the current transaction. Without a {@code SqlSessionFactory} (e.g. a bare mapper)
+     * each row is updated individually.</p>
+     *
+     * @param entities the entities to update, each with the primary key set
+     * @return the affected-row count for each entity, in input order; drivers that rewrite
+     *         batches report {@link java.sql.Statement#SUCCESS_NO_INFO} ({@code -2}) instead
+     */
+    int[] updateAll(List<T> entities);
+
+    /**
+     * Batch selective UPDATE — {@link #modify(Object)} for every entity as JDBC batches.
+     *
+     * <p>The SET clause depends on which fields are non-{@code null}, so consecutive entities
+     * with the same non-{@code null} fields share a prepared statement; a different pattern
+     * starts a new one.</p>
+     *
+     * @param entities the entities to update, each with the primary key set
+     * @return the affected-row count for each entity, in input order
+     * @see #updateAll(List)
+     */
+    int[] modifyAll(List<T> entities);
+
     /**
      * Deletes the entity with the given primary key.
      *
@@ -149,6 +206,35 @@ public interface IXRepository<K, T> {
      */
     XPage<T> findAll(XPagination pagination);
 
+    /**
+     * Returns all entities, selecting only the projected columns.
+     *
+     * @param projection the entity fields to select; other fields stay {@code null}
+     * @return a list of partially populated entities
+     */
+    List<T> findAll(Projection projection);
+
+    /**
+     * Finds all entities whose primary key is in {@code keys} with {@code WHERE pk IN (...)}
+     * (composite keys: {@code (a, b) IN ((...), ...)}).
+     *
+     * <p>Keys are de-duplicated and split into queries of at most
+     * {@code axim.mybatis.batch.chunk-size} keys. Composite key classes must implement
+     * {@code equals}/{@code hashCode}.</p>
+     *
+     * @param keys the primary keys to look up
+     * @return the found entities in input key order; keys without a row are omitted
+     */
+    List<T> findAllByIds(Collection<K> keys);
+
+    /**
+     * Same as {@link #findAllByIds(Collection)}, keyed by primary key.
+     *
+     * @param keys the primary keys to look up
+     * @return an insertion-ordered map of key to entity; keys without a row are omitted
+     */
+    Map<K, T> findMapByIds(Collection<K> keys);
+
     /**
      * Checks whether an entity with the given primary key exists.
      *
@@ -180,6 +266,20 @@ public interface IXRepository<K, T> {
      */
     List<T> findWhere(Map<String, Object> where);
 
+    /**
+     * Finds all entities matching the given conditions, selecting only the projected columns.
+     *
+     * <pre>{@code
+     * findWhere(Map.of("status", "ACTIVE"), Projection.of("id", "name"))
+     * // SELECT id, name FROM users WHERE status = ?
+     * }</pre>
+     *
+     * @param where      a map of column-name to value conditions (AND-combined)
+     * @param projection the entity fields to select; other fields stay {@code null}
+     * @return a list of partially populated entities
+     */
+    List<T> findWhere(Map<String, Object> where, Projection projection);
+
     /**
      * Finds entities matching the given conditions with pagination.
      *
@@ -196,4 +296,41 @@ public interface IXRepository<K, T> {
      * @return the matching entity, or {@code null} if not found
      */
     T findOneWhere(Map<String, Object> where);
+
+    /**
+     * Streams every entity without loading the whole table into memory.
+     *
+     * <p>Rows are read from a MyBatis {@code Cursor} with {@code axim.mybatis.stream.fetch-size}
+     * (MySQL row-by-row streaming by default). The stream holds a database connection until it
+     * is closed, so always use try-with-resources:</p>
+     *
+     * <pre>{@code
+     * try (Stream<User> users = userRepository.streamAll()) {
+     *     users.forEach(exporter::write);
+     * }
+     * }</pre>
+     *
+     * <p>While a MySQL streaming result is open, its connection cannot run other statements;
+     * inside a transaction, don't query through the same transaction while consuming.</p>
+     *
+     * @return a stream that must be closed
+     */
+    Stream<T> streamAll();
+
+    /**
+     * Streams entities matching the given conditions. See {@link #streamAll()}.
+     *
+     * @param where a map of column-name to value conditions (AND-combined), must not be empty
+     * @return a stream that must be closed
+     */
+    Stream<T> streamWhere(Map<String, Object> where);
+
+    /**
+     * Passes each matching entity to {@code action}, closing the underlying cursor afterwards.
+     * See {@link #streamAll()}.
+     *
+     * @param where  a map of column-name to value conditions (AND-combined); {@code null} or empty for all rows
+     * @param action called once per row
+     */
+    void forEach(Map<String, Object> where, Consumer<? super T> action);
 }
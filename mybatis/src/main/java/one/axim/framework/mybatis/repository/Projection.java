@@ -0,0 +1,60 @@
+package one.axim.framework.mybatis.repository;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Set of entity fields to select instead of every mapped column.
+ *
+ * <pre>{@code
+ * List<User> rows = userRepository.findWhere(Map.of("status", "ACTIVE"), Projection.of("id", "name"));
+ * // SELECT id, name FROM users WHERE status = ?
+ * }</pre>
+ *
+ * <p>Field names are camelCase entity field names, like where-map keys. Fields that are not
+ * projected are left {@code null} on the returned entities.</p>
+ */
+public final class Projection {
+
+    private final List<String> fields;
+
+    private Projection(List<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * @param fields entity field names; duplicates are ignored
+     * @throws IllegalArgumentException if no field or a {@code null} field is given
+     */
+    public static Projection of(String... fields) {
+        if (fields == null || fields.length == 0) {
+            throw new IllegalArgumentException("Projection requires at least one field");
+        }
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String field : fields) {
+            distinct.add(Objects.requireNonNull(field, "Projection field must not be null"));
+        }
+        return new Projection(List.copyOf(distinct));
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Projection other && fields.equals(other.fields));
+    }
+
+    @Override
+    public int hashCode() {
+        return fields.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "Projection" + fields;
+    }
+}
@@ -1,20 +1,105 @@
 package one.axim.framework.mybatis.repository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * Created by dudgh on 2017. 6. 4..
  */
 @Component
 public class XRepositoryConfig {
 
+    public static final int DEFAULT_BATCH_CHUNK_SIZE = 1000;
+    public static final int DEFAULT_COUNT_THREADS = 4;
+    public static final Duration DEFAULT_PARALLEL_COUNT_WAIT = Duration.ofMillis(100);
+    public static final int DEFAULT_COUNT_CACHE_SIZE = 10_000;
+    public static final Duration DEFAULT_ENTITY_CACHE_TTL = Duration.ofSeconds(60);
+    public static final int DEFAULT_ENTITY_CACHE_SIZE = 10_000;
+
+    /**
+     * How {@code saveAll} sends rows to the database.
+     */
+    public enum BatchMode {
+        /** One multi-row {@code INSERT IGNORE ... VALUES (...),(...)} per chunk. */
+        MULTI_ROW,
+        /** One single-row prepared statement executed as a JDBC batch per chunk. */
+        JDBC
+    }
+
+    /**
+     * Where repository identity maps ({@code XIdentityMap}) are opened automatically.
+     */
+    public enum IdentityMapScope {
+        /** Only scopes opened explicitly with {@code XIdentityMap.open()}. */
+        OFF,
+        /** One map per Spring transaction. */
+        TRANSACTION,
+        /** One map per HTTP request; per Spring transaction outside requests. */
+        REQUEST
+    }
+
     private static boolean isDebug;
+    private static int batchChunkSize = DEFAULT_BATCH_CHUNK_SIZE;
+    private static BatchMode batchMode = BatchMode.MULTI_ROW;
+    private static boolean parallelCount;
+    private static int countThreads = DEFAULT_COUNT_THREADS;
+    private static Duration parallelCountWait = DEFAULT_PARALLEL_COUNT_WAIT;
+    private static Duration countCacheTtl = Duration.ZERO;
+    private static int countCacheSize = DEFAULT_COUNT_CACHE_SIZE;
+    private static long estimateCountThreshold;
+    private static int deferredJoinOffset;
+    private static int streamFetchSize = Integer.MIN_VALUE;
+    private static Set<String> entityCacheTables = Set.of();
+    private static Duration entityCacheTtl = DEFAULT_ENTITY_CACHE_TTL;
+    private static int entityCacheSize = DEFAULT_ENTITY_CACHE_SIZE;
+    private static IdentityMapScope identityMapScope = IdentityMapScope.OFF;
+    private static boolean prewarm;
+    private static boolean metricsEnabled = true;
+    private static Duration slowQueryThreshold = Duration.ZERO;
+    private static double slowQuerySampleRate;
+    private static boolean slowQueryExplain;
 
     public XRepositoryConfig(@Autowired Environment environment) {
 
         XRepositoryConfig.isDebug = readBooleanValue(environment, "spring.debug");
+        XRepositoryConfig.batchChunkSize =
+                readPositiveInt(environment, "axim.mybatis.batch.chunk-size", DEFAULT_BATCH_CHUNK_SIZE);
+        XRepositoryConfig.batchMode = readBatchMode(environment, "axim.mybatis.batch.mode");
+        XRepositoryConfig.parallelCount = readBooleanValue(environment, "axim.mybatis.pagination.parallel-count");
+        XRepositoryConfig.countThreads =
+                readPositiveInt(environment, "axim.mybatis.pagination.count-threads", DEFAULT_COUNT_THREADS);
+        XRepositoryConfig.parallelCountWait = environment.containsProperty("axim.mybatis.pagination.parallel-count-wait")
+                ? readDuration(environment, "axim.mybatis.pagination.parallel-count-wait")
+                : DEFAULT_PARALLEL_COUNT_WAIT;
+        XRepositoryConfig.countCacheTtl = readDuration(environment, "axim.mybatis.pagination.count-cache-ttl");
+        XRepositoryConfig.countCacheSize =
+                readPositiveInt(environment, "axim.mybatis.pagination.count-cache-size", DEFAULT_COUNT_CACHE_SIZE);
+        XRepositoryConfig.estimateCountThreshold =
+                environment.getProperty("axim.mybatis.pagination.estimate-count-threshold", Long.class, 0L);
+        XRepositoryConfig.deferredJoinOffset =
+                environment.getProperty("axim.mybatis.pagination.deferred-join-offset", Integer.class, 0);
+        XRepositoryConfig.streamFetchSize =
+                environment.getProperty("axim.mybatis.stream.fetch-size", Integer.class, Integer.MIN_VALUE);
+        XRepositoryConfig.entityCacheTables = readNames(environment, "axim.mybatis.entity-cache.tables");
+        XRepositoryConfig.entityCacheTtl = environment.containsProperty("axim.mybatis.entity-cache.ttl")
+                ? readDuration(environment, "axim.mybatis.entity-cache.ttl")
+                : DEFAULT_ENTITY_CACHE_TTL;
+        XRepositoryConfig.entityCacheSize =
+                readPositiveInt(environment, "axim.mybatis.entity-cache.max-size", DEFAULT_ENTITY_CACHE_SIZE);
+        XRepositoryConfig.identityMapScope = readIdentityMapScope(environment, "axim.mybatis.identity-map.scope");
+        XRepositoryConfig.prewarm = readBooleanValue(environment, "axim.mybatis.prewarm");
+        XRepositoryConfig.metricsEnabled =
+                environment.getProperty("axim.mybatis.metrics.enabled", Boolean.class, true);
+        XRepositoryConfig.slowQueryThreshold = readDuration(environment, "axim.mybatis.slow-query.threshold");
+        XRepositoryConfig.slowQuerySampleRate = readSampleRate(environment, "axim.mybatis.slow-query.sample-rate");
+        XRepositoryConfig.slowQueryExplain = readBooleanValue(environment, "axim.mybatis.slow-query.explain");
     }
 
     public static boolean isDebug() {
@@ -22,9 +107,223 @@ public class XRepositoryConfig {
         return XRepositoryConfig.isDebug;
     }
 
+    /**
+     * Maximum rows per statement (multi-row) or per flush (JDBC batch) in {@code saveAll}.
+     */
+    public static int getBatchChunkSize() {
+
+        return XRepositoryConfig.batchChunkSize;
+    }
+
+    public static BatchMode getBatchMode() {
+
+        return XRepositoryConfig.batchMode;
+    }
+
+    /**
+     * Whether paginated queries run their COUNT on a separate pooled connection while the page
+     * query runs. Off by default; never applied inside a read-write Spring transaction.
+     */
+    public static boolean isParallelCount() {
+
+        return XRepositoryConfig.parallelCount;
+    }
+
+    /**
+     * Size of the thread pool that runs parallel COUNT queries.
+     */
+    public static int getCountThreads() {
+
+        return XRepositoryConfig.countThreads;
+    }
+
+    /**
+     * How long a page waits, after its own query, for a parallel COUNT that has not started yet.
+     */
+    public static Duration getParallelCountWait() {
+
+        return XRepositoryConfig.parallelCountWait;
+    }
+
+    /**
+     * How long a pagination COUNT result is reused for the same SQL and parameters.
+     * {@link Duration#ZERO} (default) disables the cache.
+     */
+    public static Duration getCountCacheTtl() {
+
+        return XRepositoryConfig.countCacheTtl;
+    }
+
+    /**
+     * Maximum number of cached COUNT results.
+     */
+    public static int getCountCacheSize() {
+
+        return XRepositoryConfig.countCacheSize;
+    }
+
+    /**
+     * Row estimate from {@code EXPLAIN} above which an unfiltered single-table COUNT is replaced
+     * by the estimate. {@code 0} (default) always counts exactly.
+     */
+    public static long getEstimateCountThreshold() {
+
+        return XRepositoryConfig.estimateCountThreshold;
+    }
+
+    /**
+     * Offset from which paginated repository queries use the deferred-join rewrite for every
+     * entity. {@code 0} (default) leaves it to {@code @XEntity(deferredJoin = true)}.
+     */
+    public static int getDeferredJoinOffset() {
+
+        return XRepositoryConfig.deferredJoinOffset;
+    }
+
+    /**
+     * JDBC fetch size of {@code streamAll}/{@code streamWhere}/{@code forEach}. The default
+     * {@link Integer#MIN_VALUE} makes MySQL Connector/J stream rows one at a time; use a positive
+     * value with {@code useCursorFetch=true} or for other drivers.
+     */
+    public static int getStreamFetchSize() {
+
+        return XRepositoryConfig.streamFetchSize;
+    }
+
+    /**
+     * Lower-case table names whose {@code findOne}/{@code exists} use the read-through entity cache
+     * without an {@code @XEntityCache} annotation.
+     */
+    public static Set<String> getEntityCacheTables() {
+
+        return XRepositoryConfig.entityCacheTables;
+    }
+
+    /**
+     * Default time to live of entity cache entries. {@link Duration#ZERO} disables entity caching.
+     */
+    public static Duration getEntityCacheTtl() {
+
+        return XRepositoryConfig.entityCacheTtl;
+    }
+
+    /**
+     * Default maximum number of cached keys per entity.
+     */
+    public static int getEntityCacheSize() {
+
+        return XRepositoryConfig.entityCacheSize;
+    }
+
+    public static IdentityMapScope getIdentityMapScope() {
+
+        return XRepositoryConfig.identityMapScope;
+    }
+
+    /**
+     * Whether repositories are created eagerly at startup, validating their methods and building
+     * every SQL template before the application reports ready.
+     */
+    public static boolean isPrewarm() {
+
+        return XRepositoryConfig.prewarm;
+    }
+
+    public static boolean isMetricsEnabled() {
+
+        return XRepositoryConfig.metricsEnabled;
+    }
+
+    public static Duration getSlowQueryThreshold() {
+
+        return XRepositoryConfig.slowQueryThreshold;
+    }
+
+    public static double getSlowQuerySampleRate() {
+
+        return XRepositoryConfig.slowQuerySampleRate;
+    }
+
+    public static boolean isSlowQueryExplain() {
+
+        return XRepositoryConfig.slowQueryExplain;
+    }
+
     private boolean readBooleanValue(Environment env, String name) {
 
         String value = env.getProperty(name);
         return (value != null && !value.equals("false"));
     }
+
+    private int readPositiveInt(Environment env, String name, int defaultValue) {
+
+        int value = env.getProperty(name, Integer.class, defaultValue);
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive: " + value);
+        }
+        return value;
+    }
+
+    private double readSampleRate(Environment env, String name) {
+
+        double value = env.getProperty(name, Double.class, 0.0);
+        if (value < 0 || value > 1) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1: " + value);
+        }
+        return value;
+    }
+
+    private Duration readDuration(Environment env, String name) {
+
+        String text = env.getProperty(name);
+        if (text == null || text.isBlank()) {
+            return Duration.ZERO;
+        }
+        // 30s, 5m, PT30S 또는 단위 없는 밀리초
+        Duration value = DurationStyle.detectAndParse(text.trim());
+        if (value.isNegative()) {
+            throw new IllegalArgumentException(name + " must not be negative: " + value);
+        }
+        return value;
+    }
+
+    private Set<String> readNames(Environment env, String name) {
+
+        String value = env.getProperty(name);
+        if (value == null || value.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(table -> !table.isEmpty())
+                .map(String::toLowerCase)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private BatchMode readBatchMode(Environment env, String name) {
+
+        String value = env.getProperty(name);
+        if (value == null || value.isBlank()) {
+            return BatchMode.MULTI_ROW;
+        }
+        try {
+            // multi-row / jdbc (대소문자, '-' '_' 구분 없음)
+            return BatchMode.valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + " must be one of multi-row, jdbc: " + value, e);
+        }
+    }
+
+    private IdentityMapScope readIdentityMapScope(Environment env, String name) {
+
+        String value = env.getProperty(name);
+        if (value == null || value.isBlank()) {
+            return IdentityMapScope.OFF;
+        }
+        try {
+            return IdentityMapScope.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + " must be one of off, transaction, request: " + value, e);
+        }
+    }
 }
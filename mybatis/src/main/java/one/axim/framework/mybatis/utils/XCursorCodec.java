@@ -0,0 +1,146 @@
+package one.axim.framework.mybatis.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Encodes the sort-key values of the last row of a keyset page into an opaque cursor token.
+ *
+ * <p>The token is URL-safe Base64 of a list of typed, length-prefixed values. The first entry
+ * is the order signature (e.g. {@code created_at DESC,id ASC}); {@link #decode} rejects a
+ * cursor issued for a different sort so a stale token cannot seek on the wrong columns.</p>
+ *
+ * <p>Values keep their Java type across the round trip for the types MyBatis binds natively
+ * (numbers, strings, booleans, {@code java.time} and {@code java.util.Date} types). Anything
+ * else (enums, UUIDs, ...) is carried as its {@code toString()}.</p>
+ */
+public final class XCursorCodec {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private XCursorCodec() {
+    }
+
+    public static String encode(String signature, List<?> values) {
+        StringBuilder sb = new StringBuilder();
+        append(sb, signature);
+        for (Object value : values) {
+            append(sb, value);
+        }
+        return ENCODER.encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the sort-key values, in order-column order
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
+     */
+    public static List<Object> decode(String cursor, String signature) {
+        List<Object> values = new ArrayList<>();
+        try {
+            String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int pos = 0;
+            while (pos < raw.length()) {
+                char tag = raw.charAt(pos);
+                int colon = raw.indexOf(':', pos + 1);
+                int length = Integer.parseInt(raw.substring(pos + 1, colon));
+                String text = raw.substring(colon + 1, colon + 1 + length);
+                values.add(parse(tag, text));
+                pos = colon + 1 + length;
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed pagination cursor: " + cursor, e);
+        }
+        if (values.isEmpty() || !signature.equals(values.get(0))) {
+            throw new IllegalArgumentException("Pagination cursor does not match the current sort order: " + signature);
+        }
+        return values.subList(1, values.size());
+    }
+
+    private static void append(StringBuilder sb, Object value) {
+        char tag;
+        String text;
+        if (value == null) {
+            tag = 'N';
+            text = "";
+        } else if (value instanceof Long) {
+            tag = 'L';
+            text = value.toString();
+        } else if (value instanceof Integer) {
+            tag = 'I';
+            text = value.toString();
+        } else if (value instanceof Short) {
+            tag = 'H';
+            text = value.toString();
+        } else if (value instanceof Byte) {
+            tag = 'Y';
+            text = value.toString();
+        } else if (value instanceof BigDecimal) {
+            tag = 'D';
+            text = value.toString();
+        } else if (value instanceof BigInteger) {
+            tag = 'G';
+            text = value.toString();
+        } else if (value instanceof Double) {
+            tag = 'F';
+            text = value.toString();
+        } else if (value instanceof Float) {
+            tag = 'R';
+            text = value.toString();
+        } else if (value instanceof Boolean) {
+            tag = 'B';
+            text = value.toString();
+        } else if (value instanceof LocalDateTime) {
+            tag = 'T';
+            text = value.toString();
+        } else if (value instanceof LocalDate) {
+            tag = 'A';
+            text = value.toString();
+        } else if (value instanceof LocalTime) {
+            tag = 'M';
+            text = value.toString();
+        } else if (value instanceof Timestamp ts) {
+            tag = 'P';
+            text = ts.toInstant().toString();
+        } else if (value instanceof Date date) {
+            tag = 'E';
+            text = Long.toString(date.getTime());
+        } else {
+            tag = 'S';
+            text = value.toString();
+        }
+        sb.append(tag).append(text.length()).append(':').append(text);
+    }
+
+    private static Object parse(char tag, String text) {
+        return switch (tag) {
+            case 'N' -> null;
+            case 'S' -> text;
+            case 'L' -> Long.valueOf(text);
+            case 'I' -> Integer.valueOf(text);
+            case 'H' -> Short.valueOf(text);
+            case 'Y' -> Byte.valueOf(text);
+            case 'D' -> new BigDecimal(text);
+            case 'G' -> new BigInteger(text);
+            case 'F' -> Double.valueOf(text);
+            case 'R' -> Float.valueOf(text);
+            case 'B' -> Boolean.valueOf(text);
+            case 'T' -> LocalDateTime.parse(text);
+            case 'A' -> LocalDate.parse(text);
+            case 'M' -> LocalTime.parse(text);
+            case 'P' -> Timestamp.from(Instant.parse(text));
+            case 'E' -> new Date(Long.parseLong(text));
+            default -> throw new IllegalArgumentException("Unknown cursor value type: " + tag);
+        };
+    }
+}
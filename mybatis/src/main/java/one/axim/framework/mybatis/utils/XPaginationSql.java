@@ -1,8 +1,14 @@
 package one.axim.framework.mybatis.utils;
 
+import one.axim.framework.core.data.XDirection;
+import one.axim.framework.core.data.XOrder;
 import one.axim.framework.core.data.XPagination;
 import one.axim.framework.core.utils.NamingConvert;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -18,6 +24,24 @@ public final class XPaginationSql {
     private static final Pattern SAFE_COLUMN =
             Pattern.compile("^([a-zA-Z_][a-zA-Z0-9_]{0,63}\\.)?[a-zA-Z_][a-zA-Z0-9_]{0,63}$");
 
+    /** 이 뒤에 오면 ORDER BY 를 떼어낼 수 없는 최상위 키워드 (행 수가 달라진다). */
+    private static final Set<String> ROW_LIMITING_WORDS =
+            Set.of("LIMIT", "OFFSET", "FETCH", "FOR", "LOCK", "INTO", "PROCEDURE");
+
+    /** FROM 뒤에 있으면 select 목록을 COUNT 로 바꿀 수 없는 최상위 키워드. */
+    private static final Set<String> GROUPING_WORDS =
+            Set.of("GROUP", "HAVING", "UNION", "INTERSECT", "EXCEPT", "WINDOW",
+                    "LIMIT", "OFFSET", "FETCH", "FOR", "LOCK", "INTO", "PROCEDURE");
+
+    /** 조건/조인 없는 단일 테이블 COUNT — {@code SELECT COUNT(1) FROM [schema.]table [alias]} */
+    private static final Pattern UNFILTERED_COUNT = Pattern.compile(
+            "^SELECT COUNT\\(1\\) FROM ((?:`?[a-zA-Z_][\\w$]*`?\\.)?`?[a-zA-Z_][\\w$]*`?)(?:\\s+(?:AS\\s+)?[a-zA-Z_]\\w*)?$",
+            Pattern.CASE_INSENSITIVE);
+
+    /** 최상위 단어와 그 위치. */
+    private record Word(String text, int start, int end) {
+    }
+
     private XPaginationSql() {
     }
 
@@ -26,21 +50,38 @@ public final class XPaginationSql {
             return "";
         }
         return " ORDER BY " + pagination.getOrders().stream()
-                .map(order -> {
-                    String col = NamingConvert.toUnderScoreName(order.getColumn());
-                    if (!SAFE_COLUMN.matcher(col).matches()) {
-                        throw new IllegalArgumentException("Unsafe ORDER BY column: " + col);
-                    }
-                    return col + " " + order.getDirection();
-                })
+                .map(order -> orderColumn(order) + " " + order.getDirection())
                 .collect(Collectors.joining(", "));
     }
 
+    /**
+     * 정렬 컬럼을 snake_case 로 바꾸고 화이트리스트를 검사한다.
+     */
+    public static String orderColumn(XOrder order) {
+        String col = NamingConvert.toUnderScoreName(order.getColumn());
+        if (!SAFE_COLUMN.matcher(col).matches()) {
+            throw new IllegalArgumentException("Unsafe ORDER BY column: " + col);
+        }
+        return col;
+    }
+
+    /** 페이지 크기를 1 ~ 10000 으로 제한한다. */
+    public static int pageSize(XPagination pagination) {
+        return Math.max(1, Math.min(pagination.getSize(), 10000));
+    }
+
     public static String limit(XPagination pagination) {
+        return limit(pagination, 0);
+    }
+
+    /**
+     * @param lookahead 페이지 크기에 더해 읽을 행 수 (COUNT 없이 다음 페이지 여부를 알기 위한 {@code 1})
+     */
+    public static String limit(XPagination pagination, int lookahead) {
         if (pagination == null || !pagination.hasLimit()) {
             return "";
         }
-        int size = Math.max(1, Math.min(pagination.getSize(), 10000));
+        int size = pageSize(pagination) + lookahead;
         int offset = Math.max(0, pagination.getOffset());
         if (offset == 0) {
             return " LIMIT " + size;
@@ -48,6 +89,297 @@ public final class XPaginationSql {
         return " LIMIT " + offset + ", " + size;
     }
 
+    /**
+     * keyset(seek) 페이지 쿼리를 만든다.
+     *
+     * <pre>
+     * SELECT * FROM (&lt;query&gt;) _k WHERE (created_at, id) &lt; (?, ?) ORDER BY created_at DESC, id DESC LIMIT 21
+     * </pre>
+     *
+     * <p>호출자 쿼리의 최상위 ORDER BY 는 제거하고 파생 테이블로 감싼다. MySQL 은 단순한 파생
+     * 테이블을 바깥 쿼리에 병합(derived_merge)하므로 seek 조건이 원래 테이블의 인덱스를 탄다.
+     * 방향이 모두 같으면 row constructor 비교를, 섞여 있으면 풀어쓴 OR 조건을 쓴다.
+     *
+     * <p>LIMIT 은 {@code size + 1} 로 한 행 더 읽어 다음 페이지 존재 여부를 판단한다.
+     *
+     * <p>모든 정렬 컬럼을 NOT NULL 로 본다. nullable 컬럼이 있으면
+     * {@link #keysetQuery(String, List, List, Set, List, int, List)} 를 쓴다.
+     *
+     * @param columns    정렬 컬럼 (한정자 없는 snake_case, 마지막은 PK 여야 순서가 유일하다)
+     * @param directions 컬럼별 정렬 방향
+     * @param after      이전 페이지 마지막 행의 정렬 키 값, 첫 페이지면 {@code null}
+     * @param binds      {@code ?} 순서대로 바인딩할 값이 추가된다
+     */
+    public static String keysetQuery(String query, List<String> columns, List<XDirection> directions,
+                                     List<Object> after, int size, List<Object> binds) {
+        return keysetQuery(query, columns, directions, Set.of(), after, size, binds);
+    }
+
+    /**
+     * nullable 정렬 컬럼을 고려한 keyset 페이지 쿼리.
+     *
+     * <p>MySQL 은 NULL 을 가장 작은 값으로 정렬한다(ASC 면 맨 앞, DESC 면 맨 뒤). 커서 값이 NULL 이거나
+     * nullable 컬럼을 DESC 로 정렬하면 {@code col IS NULL} / {@code col IS NOT NULL} 조건을 넣어
+     * 풀어쓴다. {@code (col, id) > (NULL, ?)} 는 어떤 행과도 맞지 않아 페이지가 일찍 끝나기 때문이다.
+     *
+     * @param nullableColumns NULL 이 들어 있을 수 있는 정렬 컬럼
+     */
+    public static String keysetQuery(String query, List<String> columns, List<XDirection> directions,
+                                     Set<String> nullableColumns, List<Object> after, int size,
+                                     List<Object> binds) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM (")
+                .append(stripTrailingOrderBy(query))
+                .append(") _k");
+        if (after != null) {
+            if (after.size() != columns.size()) {
+                throw new IllegalArgumentException("Pagination cursor has " + after.size()
+                        + " values but the sort has " + columns.size() + " columns");
+            }
+            sql.append(" WHERE ").append(seekPredicate(columns, directions, nullableColumns, after, binds));
+        }
+        sql.append(" ORDER BY ");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(columns.get(i)).append(' ').append(directions.get(i));
+        }
+        return sql.append(" LIMIT ").append(size + 1).toString();
+    }
+
+    private static String seekPredicate(List<String> columns, List<XDirection> directions,
+                                        Set<String> nullableColumns, List<Object> after, List<Object> binds) {
+        boolean nullAware = false;
+        for (int i = 0; i < columns.size(); i++) {
+            nullAware |= after.get(i) == null
+                    || (directions.get(i) == XDirection.DESC && nullableColumns.contains(columns.get(i)));
+        }
+        if (nullAware) {
+            return nullAwareSeekPredicate(columns, directions, nullableColumns, after, binds);
+        }
+        if (directions.stream().distinct().count() == 1) {
+            String op = directions.get(0) == XDirection.DESC ? " < " : " > ";
+            binds.addAll(after);
+            if (columns.size() == 1) {
+                return columns.get(0) + op + "?";
+            }
+            String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
+            return "(" + String.join(", ", columns) + ")" + op + "(" + placeholders + ")";
+        }
+        // (a > ?) OR (a = ? AND b < ?) OR (a = ? AND b = ? AND c > ?)
+        StringBuilder predicate = new StringBuilder("(");
+        for (int i = 0; i < columns.size(); i++) {
+            predicate.append(i == 0 ? "(" : " OR (");
+            for (int j = 0; j < i; j++) {
+                predicate.append(columns.get(j)).append(" = ? AND ");
+                binds.add(after.get(j));
+            }
+            predicate.append(columns.get(i)).append(directions.get(i) == XDirection.DESC ? " < ?)" : " > ?)");
+            binds.add(after.get(i));
+        }
+        return predicate.append(')').toString();
+    }
+
+    /**
+     * 풀어쓴 seek 조건에서 NULL 을 값처럼 비교한다.
+     * <pre>
+     * ASC,  값 NULL  → col IS NOT NULL          (NULL 뒤에는 모든 값이 온다)
+     * DESC, 값 NULL  → 조건 없음                 (NULL 뒤에는 아무것도 없다)
+     * DESC, nullable → (col &lt; ? OR col IS NULL)
+     * 앞 컬럼 일치   → col = ? 또는 col IS NULL
+     * </pre>
+     */
+    private static String nullAwareSeekPredicate(List<String> columns, List<XDirection> directions,
+                                                 Set<String> nullableColumns, List<Object> after,
+                                                 List<Object> binds) {
+        StringBuilder predicate = new StringBuilder("(");
+        int terms = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i);
+            Object value = after.get(i);
+            boolean desc = directions.get(i) == XDirection.DESC;
+            if (value == null && desc) {
+                continue;
+            }
+            predicate.append(terms++ == 0 ? "(" : " OR (");
+            for (int j = 0; j < i; j++) {
+                if (after.get(j) == null) {
+                    predicate.append(columns.get(j)).append(" IS NULL AND ");
+                } else {
+                    predicate.append(columns.get(j)).append(" = ? AND ");
+                    binds.add(after.get(j));
+                }
+            }
+            if (value == null) {
+                predicate.append(column).append(" IS NOT NULL)");
+            } else if (desc && nullableColumns.contains(column)) {
+                // 앞 컬럼 조건과 AND 로 묶일 때만 괄호가 필요하다
+                predicate.append(i == 0 ? "" : "(").append(column).append(" < ? OR ").append(column)
+                        .append(i == 0 ? " IS NULL)" : " IS NULL))");
+                binds.add(value);
+            } else {
+                predicate.append(column).append(desc ? " < ?)" : " > ?)");
+                binds.add(value);
+            }
+        }
+        return terms == 0 ? "1 = 0" : predicate.append(')').toString();
+    }
+
+    /**
+     * 페이지네이션 COUNT 쿼리를 만든다.
+     *
+     * <ul>
+     *   <li>최상위 ORDER BY 는 행 수에 영향이 없으므로 제거한다. 단, 뒤에 LIMIT 등이 붙었거나
+     *       {@code ?} 가 있으면(파라미터 매핑 개수가 어긋난다) 그대로 두고 감싼다.</li>
+     *   <li>{@code SELECT <목록> FROM ...} 의 select 목록이 단순하면(DISTINCT, 괄호, {@code ?} 없음)
+     *       파생 테이블 없이 {@code SELECT COUNT(1) FROM ...} 으로 바꾼다. GROUP BY/HAVING/UNION
+     *       등이 있으면 행 수가 달라지므로 {@code SELECT COUNT(1) FROM (...) _tmp} 로 감싼다.</li>
+     * </ul>
+     */
+    public static String countQuery(String sql) {
+        String body = sql.trim();
+        List<Word> words = topLevelWords(body);
+
+        int orderBy = -1;
+        for (int i = 0; i + 1 < words.size(); i++) {
+            if (words.get(i).text().equals("ORDER") && words.get(i + 1).text().equals("BY")) {
+                orderBy = i;
+            }
+        }
+        if (orderBy >= 0) {
+            String tail = body.substring(words.get(orderBy).start());
+            boolean plainSort = tail.indexOf('?') < 0 && words.subList(orderBy, words.size()).stream()
+                    .noneMatch(word -> ROW_LIMITING_WORDS.contains(word.text()));
+            if (!plainSort) {
+                return "SELECT COUNT(1) FROM (" + body + ") _tmp";
+            }
+            body = body.substring(0, words.get(orderBy).start()).trim();
+            words = words.subList(0, orderBy);
+        }
+
+        if (!words.isEmpty() && words.get(0).text().equals("SELECT") && words.get(0).start() == 0) {
+            int from = -1;
+            for (int i = 1; i < words.size() && from < 0; i++) {
+                if (words.get(i).text().equals("FROM")) {
+                    from = i;
+                }
+            }
+            if (from > 0) {
+                String selectList = body.substring(words.get(0).end(), words.get(from).start());
+                boolean simpleSelect = selectList.indexOf('?') < 0 && selectList.indexOf('(') < 0
+                        && words.subList(1, from).stream().noneMatch(word -> word.text().startsWith("DISTINCT"));
+                boolean ungrouped = words.subList(from, words.size()).stream()
+                        .noneMatch(word -> GROUPING_WORDS.contains(word.text()));
+                if (simpleSelect && ungrouped) {
+                    return "SELECT COUNT(1) " + body.substring(words.get(from).start());
+                }
+            }
+        }
+        return "SELECT COUNT(1) FROM (" + body + ") _tmp";
+    }
+
+    /**
+     * 단일 테이블 페이지 쿼리를 deferred join 형태로 바꾼다.
+     *
+     * <pre>
+     * SELECT id, name, ... FROM `users` WHERE (status = ?) ORDER BY created_at DESC LIMIT 100000, 20
+     * → SELECT id, name, ... FROM `users`
+     *   JOIN (SELECT id AS _pk0 FROM `users` WHERE (status = ?) ORDER BY created_at DESC LIMIT 100000, 20) _d
+     *   ON `users`.id = _d._pk0 ORDER BY created_at DESC
+     * </pre>
+     *
+     * <p>안쪽 쿼리는 PK 와 정렬 컬럼만 필요하므로 보조 인덱스만으로 offset 을 건너뛰고, 전체 컬럼은
+     * 페이지 크기만큼만 읽는다. 파생 테이블의 PK 는 {@code _pkN} 별칭으로 노출하므로 바깥의 한정자
+     * 없는 컬럼 참조가 모호해지지 않는다.
+     *
+     * @param query       ORDER BY / LIMIT 이 없는 {@code SELECT <목록> FROM <table> [WHERE ...]}
+     * @param orderClause {@link #orderBy(XPagination)} 결과 (비어 있으면 안 된다)
+     * @param limitClause {@link #limit(XPagination, int)} 결과
+     * @return 바꿀 수 없는 모양(조인, GROUP BY, DISTINCT 등)이면 {@code null}
+     */
+    public static String deferredJoin(String query, String table, List<String> pkColumns,
+                                      String orderClause, String limitClause) {
+        String body = query.trim();
+        List<Word> words = topLevelWords(body);
+        if (words.isEmpty() || !words.get(0).text().equals("SELECT") || words.get(0).start() != 0) {
+            return null;
+        }
+        int from = -1;
+        for (int i = 1; i < words.size() && from < 0; i++) {
+            if (words.get(i).text().equals("FROM")) {
+                from = i;
+            }
+        }
+        if (from < 0) {
+            return null;
+        }
+        boolean hasWhere = from + 1 < words.size();
+        int tableEnd = hasWhere ? words.get(from + 1).start() : body.length();
+        if (hasWhere && !words.get(from + 1).text().equals("WHERE")
+                || !body.substring(words.get(from).end(), tableEnd).trim().equals(table)) {
+            return null;
+        }
+        String selectList = body.substring(words.get(0).end(), words.get(from).start()).trim();
+        boolean simpleSelect = selectList.indexOf('?') < 0
+                && words.subList(1, from).stream().noneMatch(word -> word.text().startsWith("DISTINCT"));
+        boolean ungrouped = words.subList(from, words.size()).stream()
+                .noneMatch(word -> GROUPING_WORDS.contains(word.text()) || word.text().equals("ORDER"));
+        if (!simpleSelect || !ungrouped) {
+            return null;
+        }
+
+        StringBuilder keys = new StringBuilder();
+        StringBuilder on = new StringBuilder();
+        for (int i = 0; i < pkColumns.size(); i++) {
+            keys.append(i == 0 ? "" : ", ").append(pkColumns.get(i)).append(" AS _pk").append(i);
+            on.append(i == 0 ? "" : " AND ").append(table).append('.').append(pkColumns.get(i)).append(" = _d._pk").append(i);
+        }
+        return "SELECT " + selectList + " FROM " + table
+                + " JOIN (SELECT " + keys + " FROM " + body.substring(words.get(from).end()).trim()
+                + orderClause + limitClause + ") _d ON " + on
+                + orderClause;
+    }
+
+    /**
+     * {@link #countQuery(String)} 결과가 조건 없는 단일 테이블 COUNT 이면 그 테이블명을, 아니면
+     * {@code null} 을 돌려준다. 추정 건수({@code EXPLAIN})를 쓸 수 있는 쿼리인지 판단한다.
+     */
+    public static String unfilteredCountTable(String countSql) {
+        Matcher matcher = UNFILTERED_COUNT.matcher(countSql.trim());
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /** 문자열 리터럴과 괄호 밖(깊이 0)에 있는 단어를 대문자로 모은다. */
+    private static List<Word> topLevelWords(String sql) {
+        List<Word> words = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (isWordChar(c)) {
+                int start = i;
+                while (i + 1 < sql.length() && isWordChar(sql.charAt(i + 1))) {
+                    i++;
+                }
+                if (depth == 0) {
+                    words.add(new Word(sql.substring(start, i + 1).toUpperCase(), start, i + 1));
+                }
+            }
+        }
+        return words;
+    }
+
     /**
      * 쿼리 최상위(괄호 깊이 0)의 마지막 {@code ORDER BY} 이후를 잘라낸다. (v1.4.1)
      *
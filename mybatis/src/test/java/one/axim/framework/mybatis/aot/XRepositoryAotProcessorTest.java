@@ -0,0 +1,85 @@
+package one.axim.framework.mybatis.aot;
+
+import one.axim.framework.mybatis.annotation.XColumn;
+import one.axim.framework.mybatis.annotation.XEntity;
+import one.axim.framework.mybatis.annotation.XRepository;
+import one.axim.framework.mybatis.mapper.CommonMapper;
+import one.axim.framework.mybatis.provider.CrudSqlProvider;
+import one.axim.framework.mybatis.proxy.XRepositoryBeanScanner;
+import one.axim.framework.mybatis.repository.IXRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.aot.generate.DefaultGenerationContext;
+import org.springframework.aot.generate.GeneratedFiles;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.context.aot.ApplicationContextAotGenerator;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.javapoet.ClassName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XRepositoryAotProcessorTest {
+
+    @Test
+    @DisplayName("스캔된 repository 의 프록시, 엔티티, projection 과 MyBatis 공통 클래스에 대한 힌트를 등록한다")
+    void registersRepositoryHints() {
+        GenericApplicationContext context = new GenericApplicationContext();
+        new XRepositoryBeanScanner(context).scan(getClass().getPackageName());
+
+        InMemoryGeneratedFiles generatedFiles = new InMemoryGeneratedFiles();
+        DefaultGenerationContext generationContext =
+                new DefaultGenerationContext(new ClassNameGenerator(ClassName.get(getClass())), generatedFiles);
+        new ApplicationContextAotGenerator().processAheadOfTime(context, generationContext);
+        generationContext.writeGeneratedContent();
+        RuntimeHints hints = generationContext.getRuntimeHints();
+
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(AotOrderRepository.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(AotOrder.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(AotOrderRepository.OrderSummary.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(CommonMapper.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CrudSqlProvider.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+        assertTrue(generatedFiles.getGeneratedFiles(GeneratedFiles.Kind.SOURCE)
+                .keySet().stream().anyMatch(path -> path.contains("BeanDefinitions")));
+    }
+
+    @XRepository
+    interface AotOrderRepository extends IXRepository<Long, AotOrder> {
+
+        record OrderSummary(Long id, String status) {
+        }
+
+        List<OrderSummary> findAllByStatus(String status);
+    }
+
+    @XEntity("aot_order")
+    public static class AotOrder {
+
+        @XColumn(isPrimaryKey = true, isAutoIncrement = true)
+        private Long id;
+        private String status;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package one.axim.framework.mybatis.meta;
+
+import one.axim.framework.mybatis.annotation.XColumn;
+import one.axim.framework.mybatis.annotation.XEntity;
+import one.axim.framework.mybatis.exception.XBuilderInvalidModelException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityMetadataFactoryTest {
+
+    private final EntityMetadataFactory factory = new EntityMetadataFactory();
+
+    @Test
+    @DisplayName("컬럼 접근자는 상속된 getter/setter 와 primitive 프로퍼티를 박싱/언박싱해 읽고 쓴다")
+    void columnAccessorsReadAndWriteProperties() {
+        EntityMetadata metadata = factory.getMetadata(Account.class, Long.class);
+        Account account = new Account();
+
+        metadata.getColumn("id").setValue(account, 7L);
+        metadata.getColumn("age").setValue(account, 31);
+        metadata.getColumn("name").setValue(account, "kim");
+
+        assertEquals(7L, metadata.getColumn("id").getValue(account));
+        assertEquals(31, metadata.getColumn("age").getValue(account));
+        assertEquals("kim", account.getName());
+        assertThrows(IllegalStateException.class, () -> metadata.getColumn("label").setValue(account, "x"));
+    }
+
+    @Test
+    @DisplayName("복합키 엔티티는 키 클래스 생성자와 PK 순서에 맞춘 setter 를 미리 준비한다")
+    void compositeKeyAccessorsArePrepared() {
+        EntityMetadata metadata = factory.getMetadata(Membership.class, MembershipKey.class);
+        Membership membership = new Membership();
+        membership.setGroupId(3L);
+        membership.setUserId(9L);
+
+        Object key = metadata.getKeyFactory().get();
+        for (int i = 0; i < metadata.getPrimaryKeyColumns().size(); i++) {
+            ColumnMetadata pkColumn = metadata.getPrimaryKeyColumns().get(i);
+            metadata.getKeyWriters().get(i).accept(key, pkColumn.getValue(membership));
+        }
+
+        assertEquals(new MembershipKey(3L, 9L), key);
+    }
+
+    @Test
+    @DisplayName("equals/hashCode 를 재정의하지 않은 복합키 클래스는 메타데이터 생성 시점에 거부한다")
+    void rejectsCompositeKeyWithoutEquals() {
+        XBuilderInvalidModelException e = assertThrows(XBuilderInvalidModelException.class,
+                () -> factory.getMetadata(Membership.class, IdentityKey.class));
+
+        assertTrue(e.getMessage().contains(IdentityKey.class.getName()));
+    }
+
+    public static class BaseEntity {
+
+        @XColumn(isPrimaryKey = true, isAutoIncrement = true)
+        private Long id;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    @XEntity("account")
+    public static class Account extends BaseEntity {
+
+        private String name;
+        private int age;
+        private String label = "fixed";
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    @XEntity("membership")
+    public static class Membership {
+
+        @XColumn(isPrimaryKey = true)
+        private Long groupId;
+        @XColumn(isPrimaryKey = true)
+        private Long userId;
+
+        public Long getGroupId() {
+            return groupId;
+        }
+
+        public void setGroupId(Long groupId) {
+            this.groupId = groupId;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+    }
+
+    public static class MembershipKey {
+
+        private Long groupId;
+        private Long userId;
+
+        public MembershipKey() {
+        }
+
+        MembershipKey(Long groupId, Long userId) {
+            this.groupId = groupId;
+            this.userId = userId;
+        }
+
+        public void setGroupId(Long groupId) {
+            this.groupId = groupId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof MembershipKey other
+                    && Objects.equals(groupId, other.groupId) && Objects.equals(userId, other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(groupId, userId);
+        }
+    }
+
+    public static class IdentityKey {
+
+        private Long groupId;
+        private Long userId;
+
+        public void setGroupId(Long groupId) {
+            this.groupId = groupId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+    }
+}
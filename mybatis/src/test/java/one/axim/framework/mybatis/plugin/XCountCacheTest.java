@@ -0,0 +1,138 @@
+package one.axim.framework.mybatis.plugin;
+
+import one.axim.framework.mybatis.repository.XRepositoryConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XCountCacheTest {
+
+    @BeforeEach
+    void enableCache() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(
+                new MapPropertySource("test", Map.of("axim.mybatis.pagination.count-cache-ttl", "1m")));
+        new XRepositoryConfig(environment);
+    }
+
+    @AfterEach
+    void reset() {
+        XCountCache.clear();
+        new XRepositoryConfig(new StandardEnvironment());
+    }
+
+    @Test
+    @DisplayName("공백이 달라도 같은 SQL 과 파라미터면 같은 항목을 찾는다")
+    void normalizesWhitespaceAndKeysByParameters() {
+        XCountCache.put("SELECT COUNT(1) FROM users\n WHERE status = ?", List.of("ACTIVE"), 42, false);
+
+        assertEquals(42, XCountCache.get("SELECT COUNT(1)  FROM users WHERE status = ?", List.of("ACTIVE")).count());
+        assertNull(XCountCache.get("SELECT COUNT(1) FROM users WHERE status = ?", List.of("BLOCKED")));
+    }
+
+    @Test
+    @DisplayName("invalidate 는 해당 테이블을 참조하는 항목만 지운다")
+    void invalidateDropsEntriesOfTable() {
+        XCountCache.put("SELECT COUNT(1) FROM users u JOIN teams t ON t.id = u.team_id", List.of(), 3, false);
+        XCountCache.put("SELECT COUNT(1) FROM user_logs", List.of(), 7, false);
+
+        XCountCache.invalidate("`app`.`users`");
+
+        assertNull(XCountCache.get("SELECT COUNT(1) FROM users u JOIN teams t ON t.id = u.team_id", List.of()));
+        assertNotNull(XCountCache.get("SELECT COUNT(1) FROM user_logs", List.of()));
+    }
+
+    @Test
+    @DisplayName("다른 테이블의 쓰기는 진행 중인 COUNT 의 저장을 막지 않는다")
+    void unrelatedInvalidationKeepsRunningCount() {
+        String users = "SELECT COUNT(1) FROM users";
+        String logs = "SELECT COUNT(1) FROM user_logs";
+        long usersGeneration = XCountCache.generation(users);
+        long logsGeneration = XCountCache.generation(logs);
+
+        XCountCache.invalidate("user_logs");
+        XCountCache.put(users, List.of(), 3, false, usersGeneration);
+        XCountCache.put(logs, List.of(), 7, false, logsGeneration);
+
+        assertNotNull(XCountCache.get(users, List.of()));
+        assertNull(XCountCache.get(logs, List.of()));
+    }
+
+    @Test
+    @DisplayName("가득 차면 전체를 비우지 않고 약 10% 만 덜어낸다")
+    void evictsPartOfCacheWhenFull() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "axim.mybatis.pagination.count-cache-ttl", "1m",
+                "axim.mybatis.pagination.count-cache-size", "20")));
+        new XRepositoryConfig(environment);
+        for (int i = 0; i < 20; i++) {
+            XCountCache.put("SELECT COUNT(1) FROM users WHERE id > ?", List.of(i), i, false);
+        }
+
+        XCountCache.put("SELECT COUNT(1) FROM users WHERE id > ?", List.of(20), 20, false);
+
+        int cached = 0;
+        for (int i = 0; i <= 20; i++) {
+            cached += XCountCache.get("SELECT COUNT(1) FROM users WHERE id > ?", List.of(i)) != null ? 1 : 0;
+        }
+        assertEquals(19, cached);
+        assertNotNull(XCountCache.get("SELECT COUNT(1) FROM users WHERE id > ?", List.of(20)));
+    }
+
+    @Test
+    @DisplayName("읽기/쓰기 트랜잭션 안에서는 커밋 전 행이 보이므로 캐시를 쓰지 않고, 읽기 전용이면 쓴다")
+    void disabledInsideReadWriteTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertFalse(XCountCache.isEnabled());
+
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            assertTrue(XCountCache.isEnabled());
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertTrue(XCountCache.isEnabled());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 invalidate 는 커밋 전에 다시 캐시된 COUNT 를 완료 시점에 한 번 더 지운다")
+    void invalidatesAgainAfterTransactionCompletion() {
+        String sql = "SELECT COUNT(1) FROM users";
+        long running = XCountCache.generation(sql);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            XCountCache.invalidate("users");
+
+            // invalidate 전에 시작한 COUNT 는 저장되지 않는다
+            XCountCache.put(sql, List.of(), 3, false, running);
+            assertNull(XCountCache.get(sql, List.of()));
+
+            // 다른 스레드가 커밋 전 건수를 새로 캐시한 경우
+            XCountCache.put(sql, List.of(), 3, false, XCountCache.generation(sql));
+            assertNotNull(XCountCache.get(sql, List.of()));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(XCountCache.get(sql, List.of()));
+    }
+}
@@ -0,0 +1,87 @@
+package one.axim.framework.mybatis.plugin;
+
+import one.axim.framework.core.data.XDirection;
+import one.axim.framework.core.data.XOrder;
+import one.axim.framework.core.data.XPage;
+import one.axim.framework.core.data.XPagination;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XResultInterceptorKeysetTest {
+
+    @Test
+    @DisplayName("마지막 행의 정렬 값이 NULL 이어도 다음 페이지는 NULL 이후 행을 이어서 조회한다")
+    void continuesAfterNullSortValue() throws Throwable {
+        Configuration configuration = new Configuration();
+        MappedStatement ms = new MappedStatement.Builder(configuration, "scratch.UserMapper.findPage",
+                new StaticSqlSource(configuration, "SELECT * FROM users"), SqlCommandType.SELECT)
+                .resultMaps(List.of(new ResultMap.Builder(configuration, "inline", Map.class, List.of()).build()))
+                .build();
+
+        List<String> sqls = new ArrayList<>();
+        List<Object> binds = new ArrayList<>();
+        Executor executor = (Executor) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Executor.class}, (proxy, method, args) -> {
+                    MappedStatement executed = (MappedStatement) args[0];
+                    BoundSql boundSql = executed.getBoundSql(args[1]);
+                    sqls.add(boundSql.getSql());
+                    boundSql.getParameterMappings().forEach(
+                            mapping -> binds.add(boundSql.getAdditionalParameter(mapping.getProperty())));
+                    // name 은 NULL 이 먼저 정렬된다 (MySQL ASC)
+                    return new ArrayList<>(List.of(row(null, 1L), row(null, 2L), row("kim", 3L)));
+                });
+
+        XResultInterceptor interceptor = new XResultInterceptor();
+        XPage<?> first = page(interceptor, executor, ms, "");
+        assertNotNull(first.getNextCursor());
+
+        page(interceptor, executor, ms, first.getNextCursor());
+
+        assertTrue(sqls.get(1).contains("WHERE ((name IS NOT NULL) OR (name IS NULL AND id > ?))"), sqls.get(1));
+        assertEquals(List.of(2L), binds);
+    }
+
+    private XPage<?> page(XResultInterceptor interceptor, Executor executor, MappedStatement ms, String cursor)
+            throws Throwable {
+        XPagination pagination = new XPagination();
+        pagination.setSize(2);
+        pagination.addOrder(new XOrder("name", XDirection.ASC));
+        pagination.addOrder(new XOrder("id", XDirection.ASC));
+        pagination.setCursor(cursor);
+        MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+        param.put("pagination", pagination);
+        List<?> result = (List<?>) interceptor.intercept(new Invocation(executor,
+                Executor.class.getMethod("query", MappedStatement.class, Object.class, RowBounds.class,
+                        ResultHandler.class),
+                new Object[]{ms, param, RowBounds.DEFAULT, null}));
+        return (XPage<?>) result.get(0);
+    }
+
+    private static Map<String, Object> row(String name, Long id) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("name", name);
+        row.put("id", id);
+        return row;
+    }
+}
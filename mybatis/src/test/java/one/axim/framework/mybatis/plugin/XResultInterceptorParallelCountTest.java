@@ -0,0 +1,171 @@
+package one.axim.framework.mybatis.plugin;
+
+import one.axim.framework.core.data.XPage;
+import one.axim.framework.core.data.XPagination;
+import one.axim.framework.mybatis.repository.XRepositoryConfig;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XResultInterceptorParallelCountTest {
+
+    /** COUNT 를 실행한 커넥션 이름과 스레드 이름 */
+    private final List<String> counts = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void reset() {
+        XCountExecutor.shutdown();
+        new XRepositoryConfig(new StandardEnvironment());
+    }
+
+    @Test
+    @DisplayName("병렬 COUNT 는 COUNT 스레드에서 별도 풀 커넥션으로 실행한다")
+    void countsOnSeparateConnection() throws Throwable {
+        enableParallelCount();
+        DataSource dataSource = stub(DataSource.class, (method, args) ->
+                method.getName().equals("getConnection") ? connection("pool") : null);
+
+        XPage<?> page = page(dataSource);
+
+        assertEquals(42, page.getTotalCount());
+        assertEquals(1, counts.size());
+        assertTrue(counts.get(0).startsWith("pool@axim-pagination-count-"), counts.get(0));
+    }
+
+    @Test
+    @DisplayName("풀이 고갈되어 COUNT 작업이 커넥션을 얻지 못하면 기다림을 끊고 호출자 커넥션에서 센다")
+    void fallsBackToCallerConnectionWhenPoolIsExhausted() throws Throwable {
+        enableParallelCount();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        DataSource dataSource = stub(DataSource.class, (method, args) -> {
+            if (method.getName().equals("getConnection")) {
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw new SQLException("interrupted while waiting for a connection");
+                }
+            }
+            return null;
+        });
+
+        long start = System.nanoTime();
+        XPage<?> page = page(dataSource);
+
+        assertEquals(42, page.getTotalCount());
+        assertEquals(List.of("caller@" + Thread.currentThread().getName()), counts);
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "abandoned COUNT task should be interrupted");
+    }
+
+    private void enableParallelCount() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "axim.mybatis.pagination.parallel-count", "true",
+                "axim.mybatis.pagination.parallel-count-wait", "20ms")));
+        new XRepositoryConfig(environment);
+    }
+
+    private XPage<?> page(DataSource dataSource) throws Throwable {
+        Configuration configuration = new Configuration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        MappedStatement ms = new MappedStatement.Builder(configuration, "scratch.UserMapper.findPage",
+                new StaticSqlSource(configuration, "SELECT * FROM users"), SqlCommandType.SELECT)
+                .resultMaps(List.of(new ResultMap.Builder(configuration, "inline", Map.class, List.of()).build()))
+                .build();
+
+        Connection callerConnection = connection("caller");
+        Transaction transaction = stub(Transaction.class, (method, args) ->
+                method.getName().equals("getConnection") ? callerConnection : null);
+        Executor executor = stub(Executor.class, (method, args) -> switch (method.getName()) {
+            case "getTransaction" -> transaction;
+            case "query" -> new ArrayList<>(List.of(Map.of("id", 1L)));
+            default -> null;
+        });
+
+        XPagination pagination = new XPagination();
+        pagination.setSize(10);
+        MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+        param.put("pagination", pagination);
+        List<?> result = (List<?>) new XResultInterceptor().intercept(new Invocation(executor,
+                Executor.class.getMethod("query", MappedStatement.class, Object.class, RowBounds.class,
+                        ResultHandler.class),
+                new Object[]{ms, param, RowBounds.DEFAULT, null}));
+        return (XPage<?>) result.get(0);
+    }
+
+    private Connection connection(String name) {
+        ResultSet resultSet = stub(ResultSet.class, new Answer() {
+            private boolean read;
+
+            @Override
+            public Object answer(Method method, Object[] args) {
+                return switch (method.getName()) {
+                    case "next" -> !read && (read = true);
+                    case "getInt" -> 42;
+                    default -> null;
+                };
+            }
+        });
+        PreparedStatement statement = stub(PreparedStatement.class, (method, args) -> {
+            if (method.getName().equals("executeQuery")) {
+                counts.add(name + "@" + Thread.currentThread().getName());
+                return resultSet;
+            }
+            return null;
+        });
+        return stub(Connection.class, (method, args) ->
+                method.getName().equals("prepareStatement") ? statement : null);
+    }
+
+    @FunctionalInterface
+    private interface Answer {
+        Object answer(Method method, Object[] args) throws Throwable;
+    }
+
+    /** 응답이 없는 메서드는 반환 타입의 기본값을 돌려준다. */
+    private static <T> T stub(Class<T> type, Answer answer) {
+        return type.cast(Proxy.newProxyInstance(XResultInterceptorParallelCountTest.class.getClassLoader(),
+                new Class<?>[]{type}, (proxy, method, args) -> {
+                    Object value = answer.answer(method, args);
+                    Class<?> returnType = method.getReturnType();
+                    if (value != null || !returnType.isPrimitive() || returnType == void.class) {
+                        return value;
+                    }
+                    return Array.get(Array.newInstance(returnType, 1), 0);
+                }));
+    }
+}
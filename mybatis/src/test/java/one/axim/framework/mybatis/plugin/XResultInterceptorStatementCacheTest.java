@@ -0,0 +1,65 @@
+package one.axim.framework.mybatis.plugin;
+
+import one.axim.framework.core.data.XPagination;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XResultInterceptorStatementCacheTest {
+
+    @Test
+    @DisplayName("페이지 쿼리는 캐시된 템플릿 MappedStatement 를 재사용하고 SQL 만 호출마다 바뀐다")
+    void reusesPageTemplateStatement() throws Throwable {
+        Configuration configuration = new Configuration();
+        MappedStatement ms = new MappedStatement.Builder(configuration, "scratch.UserMapper.findPage",
+                new StaticSqlSource(configuration, "SELECT * FROM users"), SqlCommandType.SELECT)
+                .resultMaps(List.of(new ResultMap.Builder(configuration, "inline", Map.class, List.of()).build()))
+                .build();
+
+        List<MappedStatement> statements = new ArrayList<>();
+        List<String> sqls = new ArrayList<>();
+        Executor executor = (Executor) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Executor.class}, (proxy, method, args) -> {
+                    MappedStatement executed = (MappedStatement) args[0];
+                    statements.add(executed);
+                    sqls.add(executed.getBoundSql(args[1]).getSql());
+                    return new ArrayList<>();
+                });
+        Method query = Executor.class.getMethod("query",
+                MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class);
+
+        XResultInterceptor interceptor = new XResultInterceptor();
+        for (int page = 1; page <= 2; page++) {
+            XPagination pagination = new XPagination();
+            pagination.setPage(page);
+            pagination.setSkipCount(true);
+            MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+            param.put("pagination", pagination);
+            interceptor.intercept(new Invocation(executor, query,
+                    new Object[]{ms, param, RowBounds.DEFAULT, null}));
+        }
+
+        assertSame(statements.get(0), statements.get(1));
+        assertNotEquals(sqls.get(0), sqls.get(1));
+        assertTrue(sqls.get(1).contains("LIMIT"), sqls.get(1));
+    }
+}
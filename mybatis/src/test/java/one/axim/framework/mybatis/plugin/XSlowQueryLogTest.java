@@ -0,0 +1,61 @@
+package one.axim.framework.mybatis.plugin;
+
+import one.axim.framework.mybatis.repository.XRepositoryConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XSlowQueryLogTest {
+
+    @BeforeEach
+    void enableLog() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(
+                new MapPropertySource("test", Map.of("axim.mybatis.slow-query.threshold", "200ms")));
+        new XRepositoryConfig(environment);
+    }
+
+    @AfterEach
+    void reset() {
+        new XRepositoryConfig(new StandardEnvironment());
+    }
+
+    @Test
+    @DisplayName("임계치를 넘은 문장만 기록하고, 로그에는 값 대신 파라미터 타입만 남긴다")
+    void logsSlowStatementsWithParameterShapesOnly() {
+        assertTrue(XSlowQueryLog.isEnabled());
+        assertFalse(XSlowQueryLog.shouldLog(TimeUnit.MILLISECONDS.toNanos(199)));
+        assertTrue(XSlowQueryLog.shouldLog(TimeUnit.MILLISECONDS.toNanos(200)));
+
+        XSlowQueryLog.Entry entry = new XSlowQueryLog.Entry(new XSqlMetrics.Target("User", "findByEmail"),
+                XSqlMetrics.PHASE_QUERY, TimeUnit.MILLISECONDS.toNanos(250), true,
+                "SELECT *\n  FROM users WHERE email = ? AND id > ?",
+                XSqlRenderer.shapes(Arrays.asList("a@b.c", 10L, null)), null, null);
+
+        String message = XSlowQueryLog.message(entry, null);
+        assertEquals("Slow SQL 250 ms User.findByEmail [query]: SELECT * FROM users WHERE email = ? AND id > ?"
+                + " | parameters=[String, Long, null]", message);
+        assertFalse(message.contains("a@b.c"));
+    }
+
+    @Test
+    @DisplayName("디버그 렌더링은 따옴표 안의 ? 를 건드리지 않고 값을 리터럴로 끼워 넣는다")
+    void inlinesPlaceholdersOutsideQuotes() {
+        String sql = "SELECT * FROM users WHERE note = 'why?' AND `a?` = ? AND name = ? AND active = ?";
+
+        assertEquals("SELECT * FROM users WHERE note = 'why?' AND `a?` = 3 AND name = 'O''Brien' AND active = 1",
+                XSqlRenderer.inline(sql, List.of(3, "O'Brien", true)));
+    }
+}
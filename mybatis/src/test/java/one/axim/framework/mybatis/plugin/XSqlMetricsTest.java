@@ -0,0 +1,89 @@
+package one.axim.framework.mybatis.plugin;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class XSqlMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Configuration configuration = new Configuration();
+
+    @AfterEach
+    void unbind() {
+        XSqlMetrics.bind(null);
+    }
+
+    @Test
+    @DisplayName("리포지토리 호출 안의 statement 는 엔티티·메서드 태그로, 나머지는 매퍼·메서드 태그로 기록한다")
+    void recordsLatencyRowsAndErrorsPerTarget() throws Throwable {
+        XSqlMetrics.bind(new XMicrometerSqlMetrics(registry));
+        XResultInterceptor interceptor = new XResultInterceptor();
+        MappedStatement select = statement("com.example.User.findOneBy", SqlCommandType.SELECT);
+        MappedStatement update = statement("com.example.mapper.OrderMapper.touch", SqlCommandType.UPDATE);
+
+        XSqlMetrics.Target previous = XSqlMetrics.enter(new XSqlMetrics.Target("User", "findByEmail"));
+        try {
+            interceptor.intercept(query(select, List.of("a", "b")));
+        } finally {
+            XSqlMetrics.exit(previous);
+        }
+        interceptor.intercept(new Invocation(executor(3), Executor.class.getMethod("update",
+                MappedStatement.class, Object.class), new Object[]{update, null}));
+        assertThrows(InvocationTargetException.class,
+                () -> interceptor.intercept(query(select, new SQLException("boom"))));
+
+        assertEquals(1, registry.get(XMicrometerSqlMetrics.TIMER_NAME)
+                .tags("entity", "User", "operation", "findByEmail", "phase", "query", "outcome", "SUCCESS")
+                .timer().count());
+        assertEquals(2.0, registry.get(XMicrometerSqlMetrics.ROWS_NAME)
+                .tags("entity", "User", "operation", "findByEmail").summary().totalAmount());
+        assertEquals(3.0, registry.get(XMicrometerSqlMetrics.ROWS_NAME)
+                .tags("entity", "OrderMapper", "operation", "touch", "phase", "update").summary().totalAmount());
+        assertEquals(1, registry.get(XMicrometerSqlMetrics.TIMER_NAME)
+                .tags("entity", "User", "operation", "findOneBy", "outcome", "ERROR", "exception", "SQLException")
+                .timer().count());
+    }
+
+    private MappedStatement statement(String id, SqlCommandType type) {
+        return new MappedStatement.Builder(configuration, id,
+                new StaticSqlSource(configuration, "SELECT 1"), type)
+                .resultMaps(List.of(new ResultMap.Builder(configuration, "inline", Map.class, List.of()).build()))
+                .build();
+    }
+
+    private Invocation query(MappedStatement ms, Object result) throws NoSuchMethodException {
+        return new Invocation(executor(result), Executor.class.getMethod("query",
+                MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class),
+                new Object[]{ms, null, RowBounds.DEFAULT, null});
+    }
+
+    private Executor executor(Object result) {
+        return (Executor) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Executor.class},
+                (proxy, method, args) -> {
+                    if (result instanceof Throwable t) {
+                        throw t;
+                    }
+                    return result;
+                });
+    }
+}
@@ -0,0 +1,136 @@
+package one.axim.framework.mybatis.processor;
+
+import one.axim.framework.mybatis.mapper.CommonMapper;
+import one.axim.framework.mybatis.model.XMapperParameter;
+import one.axim.framework.mybatis.proxy.XRepositoryProxy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XRepositoryProcessorTest {
+
+    private static final String ENTITY = """
+            package gen;
+
+            @one.axim.framework.mybatis.annotation.XEntity("orders")
+            public class Order {
+                @one.axim.framework.mybatis.annotation.XColumn(isPrimaryKey = true, isAutoIncrement = true)
+                private Long id;
+                private String status;
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getStatus() { return status; }
+                public void setStatus(String status) { this.status = status; }
+            }
+            """;
+
+    private final List<Map.Entry<String, XMapperParameter>> calls = new ArrayList<>();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("@XRepository 인터페이스마다 핸들러를 직접 호출하는 구현 클래스를 생성한다")
+    void generatesRepositoryClass() throws Exception {
+        compile(Map.of("gen/Order.java", ENTITY, "gen/OrderRepository.java", """
+                package gen;
+
+                @one.axim.framework.mybatis.annotation.XRepository
+                public interface OrderRepository extends one.axim.framework.mybatis.repository.IXRepository<Long, Order> {
+                    java.util.List<Order> findByStatus(String status);
+                    long countByStatus(String status);
+                }
+                """));
+
+        assertTrue(Files.exists(dir.resolve("out/gen/OrderRepository_XRepository.class")));
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{dir.resolve("out").toUri().toURL()},
+                getClass().getClassLoader())) {
+            Class<?> repositoryInterface = loader.loadClass("gen.OrderRepository");
+            Class<?> generated = loader.loadClass("gen.OrderRepository_XRepository");
+            Constructor<?> constructor = generated.getDeclaredConstructor(XRepositoryProxy.class);
+            constructor.setAccessible(true);
+            Object repository = constructor.newInstance(new XRepositoryProxy(
+                    mapper(), repositoryInterface, Long.class, loader.loadClass("gen.Order")));
+
+            Method findByStatus = repositoryInterface.getMethod("findByStatus", String.class);
+            Method countByStatus = repositoryInterface.getMethod("countByStatus", String.class);
+            assertEquals(List.of(), findByStatus.invoke(repository, "PAID"));
+            assertEquals(3L, countByStatus.invoke(repository, "PAID"));
+            assertEquals(3L, repositoryInterface.getMethod("count").invoke(repository));
+        }
+
+        assertEquals(List.of("findWhere", "count", "count"), calls.stream().map(Map.Entry::getKey).toList());
+        assertEquals(Map.of("status", "PAID"), calls.get(0).getValue().getWhere());
+    }
+
+    @Test
+    @DisplayName("제네릭 메서드가 있는 인터페이스는 생성하지 않고 런타임 프록시에 맡긴다")
+    void skipsInterfacesWithGenericMethods() throws Exception {
+        compile(Map.of("gen/Order.java", ENTITY, "gen/GenericRepository.java", """
+                package gen;
+
+                @one.axim.framework.mybatis.annotation.XRepository
+                public interface GenericRepository extends one.axim.framework.mybatis.repository.IXRepository<Long, Order> {
+                    <R> java.util.List<R> findByStatus(String status);
+                }
+                """));
+
+        assertTrue(Files.exists(dir.resolve("out/gen/GenericRepository.class")));
+        assertFalse(Files.exists(dir.resolve("out/gen/GenericRepository_XRepository.class")));
+    }
+
+    private void compile(Map<String, String> sources) throws Exception {
+        List<Path> files = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Path file = dir.resolve("src").resolve(source.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source.getValue());
+            files.add(file);
+        }
+        Files.createDirectories(dir.resolve("out"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromPaths(files);
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    List.of("-classpath", System.getProperty("java.class.path"),
+                            "-d", dir.resolve("out").toString(), "-s", dir.resolve("out").toString()),
+                    null, units);
+            task.setProcessors(List.of(new XRepositoryProcessor()));
+            assertTrue(task.call(), "compilation failed");
+        }
+    }
+
+    private CommonMapper mapper() {
+        return (CommonMapper) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{CommonMapper.class},
+                (proxy, method, args) -> {
+                    calls.add(Map.entry(method.getName(), (XMapperParameter) args[0]));
+                    return switch (method.getName()) {
+                        case "count" -> 3L;
+                        case "findWhere" -> List.of();
+                        default -> null;
+                    };
+                });
+    }
+}
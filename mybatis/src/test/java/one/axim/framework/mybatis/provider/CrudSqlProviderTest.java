@@ -0,0 +1,210 @@
+package one.axim.framework.mybatis.provider;
+
+import one.axim.framework.mybatis.annotation.XColumn;
+import one.axim.framework.mybatis.annotation.XEntity;
+import one.axim.framework.mybatis.model.XMapperParameter;
+import one.axim.framework.mybatis.repository.Projection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrudSqlProviderTest {
+
+    private final CrudSqlProvider provider = new CrudSqlProvider();
+
+    @Test
+    @DisplayName("where 키 집합이 같으면 순서와 값에 관계없이 같은 템플릿 인스턴스를 돌려준다")
+    void sameWhereKeySetSharesTemplate() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("status", "ACTIVE");
+        first.put("email", "a@example.com");
+
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("email", "b@example.com");
+        second.put("status", "INACTIVE");
+
+        assertSame(provider.findWhere(parameter(first)), provider.findWhere(parameter(second)));
+    }
+
+    @Test
+    @DisplayName("where 키 집합과 연산이 다르면 다른 템플릿을 만든다")
+    void differentShapesOrOperationsGetOwnTemplates() {
+        String byEmail = provider.findOneBy(parameter(Map.of("email", "a@example.com")));
+        String byStatus = provider.findOneBy(parameter(Map.of("status", "ACTIVE")));
+        String countByEmail = provider.count(parameter(Map.of("email", "a@example.com")));
+
+        assertNotEquals(byEmail, byStatus);
+        assertTrue(byEmail.contains("email = #{where.email}"));
+        assertTrue(countByEmail.startsWith("SELECT COUNT(*)"));
+    }
+
+    @Test
+    @DisplayName("PK 조회와 전체 조회는 where-map 없이도 캐시된다")
+    void keyAndUnfilteredTemplatesAreCached() {
+        XMapperParameter byId = parameter(null);
+        byId.setWhere(1L);
+
+        assertSame(provider.findById(byId), provider.findById(byId));
+        assertSame(provider.findAll(parameter(null)), provider.findAll(parameter(Map.of())));
+    }
+
+    @Test
+    @DisplayName("알 수 없는 where 키는 거부한다")
+    void rejectsUnknownWhereKey() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> provider.findWhere(parameter(Map.of("nickname", "x"))));
+        assertTrue(e.getMessage().contains("Unknown column key 'nickname'"));
+    }
+
+    @Test
+    @DisplayName("빈 where-map 삭제는 PK 삭제 템플릿으로 새지 않는다")
+    void emptyWhereDeleteIsRejectedEvenAfterKeyDelete() {
+        XMapperParameter byId = parameter(null);
+        byId.setWhere(1L);
+        assertEquals("DELETE FROM `provider_user`\nWHERE (id = #{where})", provider.delete(byId));
+
+        assertThrows(IllegalArgumentException.class, () -> provider.delete(parameter(Map.of())));
+    }
+
+    @Test
+    @DisplayName("JDBC 배치용 단건 INSERT IGNORE 는 null 여부와 관계없이 컬럼 목록이 고정된다")
+    void insertIgnoreHasFixedColumnList() {
+        assertEquals("INSERT IGNORE INTO `provider_user` (email, status) VALUES (#{model.email}, #{model.status})",
+                provider.insertIgnore(parameter(null)));
+    }
+
+    @Test
+    @DisplayName("upsertAll 은 PK 를 포함한 multi-row INSERT 에 ON DUPLICATE KEY UPDATE 를 붙인다")
+    void upsertAllIncludesKeyAndUpdatesNonKeyColumns() {
+        String upsert = provider.upsertAll(parameter(null));
+        assertTrue(upsert.startsWith("<script>INSERT INTO `provider_user` (id, email, status) VALUES "));
+        assertTrue(upsert.contains("(#{item.id}, #{item.email}, #{item.status})"));
+        assertTrue(upsert.endsWith(" ON DUPLICATE KEY UPDATE email = VALUES(email), status = VALUES(status)</script>"));
+
+        assertTrue(provider.upsertAllNonNull(parameter(null))
+                .contains("status = COALESCE(VALUES(status), status)"));
+    }
+
+    @Test
+    @DisplayName("findByIds 는 키 개수마다 IN 템플릿을 하나씩 캐시한다")
+    void findByIdsTemplatePerKeyCount() {
+        XMapperParameter two = parameter(null);
+        two.setWhere(List.of(1L, 2L));
+        XMapperParameter otherTwo = parameter(null);
+        otherTwo.setWhere(List.of(7L, 8L));
+
+        String sql = provider.findByIds(two);
+        assertTrue(sql.endsWith("WHERE id IN (#{where[0]}, #{where[1]})"));
+        assertSame(sql, provider.findByIds(otherTwo));
+
+        XMapperParameter empty = parameter(null);
+        empty.setWhere(List.of());
+        assertThrows(IllegalArgumentException.class, () -> provider.findByIds(empty));
+    }
+
+    @Test
+    @DisplayName("복합 PK 의 findByIds 는 row constructor IN 을 쓴다")
+    void findByIdsUsesRowConstructorForCompositeKey() {
+        XMapperParameter parameter = new XMapperParameter();
+        parameter.setResultClass(ProviderOrderItem.class);
+        parameter.setWhere(List.of(new Object(), new Object()));
+
+        assertTrue(provider.findByIds(parameter).endsWith(
+                "WHERE (order_id, item_id) IN ((#{where[0].orderId}, #{where[0].itemId}), "
+                        + "(#{where[1].orderId}, #{where[1].itemId}))"));
+    }
+
+    @Test
+    @DisplayName("projection 은 필드 순서와 관계없이 엔티티 컬럼 순서로 SELECT 하고 템플릿을 따로 캐시한다")
+    void projectionSelectsOnlyRequestedColumns() {
+        XMapperParameter full = parameter(Map.of("status", "ACTIVE"));
+        XMapperParameter projected = parameter(Map.of("status", "ACTIVE"));
+        projected.setProjection(Projection.of("status", "id"));
+        XMapperParameter reordered = parameter(Map.of("status", "INACTIVE"));
+        reordered.setProjection(Projection.of("id", "status"));
+
+        String sql = provider.findWhere(projected);
+        assertTrue(sql.startsWith("SELECT id, status\nFROM `provider_user`"));
+        assertTrue(provider.findWhere(full).startsWith("SELECT id, email, status"));
+        assertSame(sql, provider.findWhere(reordered));
+
+        XMapperParameter unknown = parameter(null);
+        unknown.setProjection(Projection.of("nickname"));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> provider.findAll(unknown));
+        assertTrue(e.getMessage().contains("Unknown projection field 'nickname'"));
+    }
+
+    private XMapperParameter parameter(Map<String, Object> where) {
+        XMapperParameter parameter = new XMapperParameter();
+        parameter.setResultClass(ProviderUser.class);
+        parameter.setWhere(where);
+        return parameter;
+    }
+
+    @XEntity("provider_order_item")
+    public static class ProviderOrderItem {
+
+        @XColumn(isPrimaryKey = true)
+        private Long orderId;
+        @XColumn(isPrimaryKey = true)
+        private Long itemId;
+
+        public Long getOrderId() {
+            return orderId;
+        }
+
+        public void setOrderId(Long orderId) {
+            this.orderId = orderId;
+        }
+
+        public Long getItemId() {
+            return itemId;
+        }
+
+        public void setItemId(Long itemId) {
+            this.itemId = itemId;
+        }
+    }
+
+    @XEntity("provider_user")
+    public static class ProviderUser {
+
+        @XColumn(isPrimaryKey = true, isAutoIncrement = true)
+        private Long id;
+        private String email;
+        private String status;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package one.axim.framework.mybatis.provider;
+
+import one.axim.framework.mybatis.model.XMapperParameter;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.xmltags.DynamicSqlSource;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class XCachingLanguageDriverTest {
+
+    private static final String SCRIPT = "<script>\nUPDATE `users`\n<set>\n"
+            + "<if test=\"model.name != null\">name = #{model.name},</if>\n"
+            + "</set>\nWHERE id = #{model.id}\n</script>";
+
+    private final Configuration configuration = new Configuration();
+
+    @Test
+    @DisplayName("같은 템플릿은 한 번만 파싱하고 SqlSource 를 재사용한다")
+    void reusesParsedSqlSourceForSameTemplate() {
+        XCachingLanguageDriver driver = new XCachingLanguageDriver();
+
+        SqlSource first = driver.createSqlSource(configuration, SCRIPT, XMapperParameter.class);
+        SqlSource second = driver.createSqlSource(configuration, SCRIPT, XMapperParameter.class);
+
+        assertInstanceOf(DynamicSqlSource.class, first);
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("다른 템플릿은 별도의 SqlSource 로 파싱한다")
+    void parsesDistinctTemplatesSeparately() {
+        XCachingLanguageDriver driver = new XCachingLanguageDriver();
+
+        SqlSource update = driver.createSqlSource(configuration, SCRIPT, XMapperParameter.class);
+        SqlSource select = driver.createSqlSource(configuration,
+                "SELECT id, name FROM `users` WHERE id = #{where}", XMapperParameter.class);
+
+        assertNotSame(update, select);
+        assertEquals("SELECT id, name FROM `users` WHERE id = ?",
+                select.getBoundSql(new XMapperParameter()).getSql());
+    }
+}
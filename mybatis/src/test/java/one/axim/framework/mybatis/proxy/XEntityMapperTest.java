@@ -0,0 +1,88 @@
+package one.axim.framework.mybatis.proxy;
+
+import one.axim.framework.mybatis.annotation.XColumn;
+import one.axim.framework.mybatis.annotation.XEntity;
+import one.axim.framework.mybatis.mapper.CommonMapper;
+import one.axim.framework.mybatis.meta.EntityMetadata;
+import one.axim.framework.mybatis.meta.EntityMetadataFactory;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.LongTypeHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class XEntityMapperTest {
+
+    @Test
+    @DisplayName("엔티티별 조회 statement 를 명시적 ResultMap 으로 한 번만 등록한다")
+    void registersEntityStatementsWithExplicitResultMap() {
+        Configuration configuration = new Configuration();
+        configuration.addMapper(CommonMapper.class);
+        EntityMetadata metadata = new EntityMetadataFactory().getMetadata(MapperOrder.class, Long.class);
+
+        String namespace = XEntityMapper.register(configuration, metadata);
+
+        assertEquals(MapperOrder.class.getName(), namespace);
+        for (String statement : XEntityMapper.READ_STATEMENTS) {
+            MappedStatement ms = configuration.getMappedStatement(namespace + "." + statement);
+            ResultMap resultMap = ms.getResultMaps().get(0);
+            assertEquals(1, ms.getResultMaps().size());
+            assertSame(MapperOrder.class, resultMap.getType());
+            assertFalse(resultMap.getAutoMapping());
+        }
+
+        ResultMap resultMap = configuration.getMappedStatement(namespace + ".findById").getResultMaps().get(0);
+        Map<String, String> columns = resultMap.getResultMappings().stream()
+                .collect(Collectors.toMap(ResultMapping::getProperty, ResultMapping::getColumn));
+        assertEquals(Map.of("id", "id", "totalAmount", "total_amount", "status", "order_status"), columns);
+        assertInstanceOf(LongTypeHandler.class, resultMap.getIdResultMappings().get(0).getTypeHandler());
+
+        MappedStatement registered = configuration.getMappedStatement(namespace + ".findById");
+        XEntityMapper.register(configuration, metadata);
+        assertSame(registered, configuration.getMappedStatement(namespace + ".findById"));
+    }
+
+    @XEntity("mapper_order")
+    public static class MapperOrder {
+
+        @XColumn(isPrimaryKey = true, isAutoIncrement = true)
+        private Long id;
+        private Long totalAmount;
+        @XColumn("`order_status`")
+        private String status;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Long getTotalAmount() {
+            return totalAmount;
+        }
+
+        public void setTotalAmount(Long totalAmount) {
+            this.totalAmount = totalAmount;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package one.axim.framework.mybatis.proxy;
+
+import one.axim.framework.mybatis.annotation.XColumn;
+import one.axim.framework.mybatis.annotation.XEntity;
+import one.axim.framework.mybatis.annotation.XEntityCache;
+import one.axim.framework.mybatis.mapper.CommonMapper;
+import one.axim.framework.mybatis.model.XMapperParameter;
+import one.axim.framework.mybatis.repository.IXRepository;
+import one.axim.framework.mybatis.repository.XRepositoryConfig;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XRepositoryProxyTest {
+
+    /** Mapper calls recorded by the stub: method name → parameter. */
+    private final List<Map.Entry<String, XMapperParameter>> calls = new ArrayList<>();
+
+    /** Cursors handed out by the stub's streamAll/streamWhere. */
+    private final List<ListCursor> cursors = new ArrayList<>();
+
+    @AfterEach
+    void resetConfig() {
+        new XRepositoryConfig(new StandardEnvironment());
+        XEntityReadCache.clearAll();
+    }
+
+    @Test
+    @DisplayName("saveAll 은 chunk-size 단위로 multi-row INSERT 를 나눠 실행하고 행 수를 합산한다")
+    void saveAllSplitsIntoChunks() {
+        configure(Map.of("axim.mybatis.batch.chunk-size", "2"));
+
+        int inserted = repository().saveAll(List.of(user("a"), user("b"), user("c"), user("d"), user("e")));
+
+        assertEquals(5, inserted);
+        assertEquals(List.of(2, 2, 1), calls.stream()
+                .filter(c -> c.getKey().equals("insertAll"))
+                .map(c -> ((List<?>) c.getValue().getModel()).size())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("upsertAll 도 chunk-size 단위로 나누고 nonNullOnly 에 따라 문장을 고른다")
+    void upsertAllSplitsIntoChunks() {
+        configure(Map.of("axim.mybatis.batch.chunk-size", "2"));
+        IXRepository<Long, ProxyUser> repository = repository();
+
+        assertEquals(3, repository.upsertAll(List.of(user("a"), user("b"), user("c"))));
+        assertEquals(1, repository.upsertAll(List.of(user("d")), true));
+        assertEquals(List.of("upsertAll", "upsertAll", "upsertAllNonNull"),
+                calls.stream().map(Map.Entry::getKey).toList());
+    }
+
+    @Test
+    @DisplayName("빈 목록은 매퍼를 호출하지 않는다")
+    void saveAllWithEmptyListSkipsMapper() {
+        assertEquals(0, repository().saveAll(List.of()));
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    @DisplayName("jdbc 모드라도 SqlSessionFactory 가 없으면 multi-row 로 실행한다")
+    void jdbcModeWithoutRunnerFallsBackToMultiRow() {
+        configure(Map.of("axim.mybatis.batch.mode", "jdbc"));
+
+        assertEquals(2, repository().saveAll(List.of(user("a"), user("b"))));
+        assertEquals("insertAll", calls.get(0).getKey());
+    }
+
+    @Test
+    @DisplayName("배치 러너가 없으면 updateAll/modifyAll 은 행마다 매퍼를 호출하고 행별 결과를 돌려준다")
+    void updateAllWithoutRunnerUpdatesRowByRow() {
+        IXRepository<Long, ProxyUser> repository = repository();
+
+        assertArrayEquals(new int[]{1, 1}, repository.updateAll(List.of(user("a"), user("b"))));
+        assertArrayEquals(new int[]{1}, repository.modifyAll(List.of(user("c"))));
+        assertArrayEquals(new int[0], repository.updateAll(List.of()));
+        assertEquals(List.of("update", "update", "selectiveUpdate"),
+                calls.stream().map(Map.Entry::getKey).toList());
+    }
+
+    @Test
+    @DisplayName("findAllByIds 는 키를 중복 제거하고 2의 거듭제곱 크기로 채워 청크별로 조회한다")
+    void findAllByIdsPadsChunksToPowerOfTwo() {
+        configure(Map.of("axim.mybatis.batch.chunk-size", "4"));
+        IXRepository<Long, ProxyUser> repository = repository();
+
+        List<ProxyUser> found = repository.findAllByIds(List.of(6L, 2L, 2L, 3L, 4L, 8L));
+
+        assertEquals(List.of(6L, 2L, 4L, 8L), found.stream().map(ProxyUser::getId).toList());
+        assertEquals(List.of(List.of(6L, 2L, 3L, 4L), List.of(8L)), calls.stream()
+                .map(c -> c.getValue().getWhere())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("findMapByIds 는 입력 키 순서의 Map 을 돌려준다")
+    void findMapByIdsKeepsInputOrder() {
+        Map<Long, ProxyUser> found = repository().findMapByIds(List.of(10L, 1L, 4L));
+
+        assertEquals(List.of(10L, 4L), List.copyOf(found.keySet()));
+        assertEquals(List.of(10L, 1L, 4L, 4L), calls.get(0).getValue().getWhere());
+    }
+
+    @Test
+    @DisplayName("streamAll 은 설정된 fetchSize 로 커서를 열고 스트림을 닫으면 커서도 닫는다")
+    void streamAllClosesCursorWithStream() {
+        configure(Map.of("axim.mybatis.stream.fetch-size", "500"));
+
+        try (Stream<ProxyUser> users = repository().streamAll()) {
+            assertEquals(List.of("a", "b"), users.map(ProxyUser::getName).toList());
+            assertFalse(cursors.get(0).isClosed());
+        }
+
+        assertTrue(cursors.get(0).isClosed());
+        assertEquals(500, calls.get(0).getValue().getFetchSize());
+    }
+
+    @Test
+    @DisplayName("forEach 는 조건이 비어 있으면 streamAll 로, 있으면 streamWhere 로 읽고 커서를 닫는다")
+    void forEachPicksStatementAndClosesCursor() {
+        IXRepository<Long, ProxyUser> repository = repository();
+        List<String> names = new ArrayList<>();
+
+        repository.forEach(Map.of(), user -> names.add(user.getName()));
+        repository.forEach(Map.of("name", "a"), user -> names.add(user.getName()));
+
+        assertEquals(List.of("a", "b", "a", "b"), names);
+        assertEquals(List.of("streamAll", "streamWhere"), calls.stream().map(Map.Entry::getKey).toList());
+        assertEquals(Integer.MIN_VALUE, calls.get(0).getValue().getFetchSize());
+        assertTrue(cursors.stream().allMatch(ListCursor::isClosed));
+    }
+
+    @Test
+    @DisplayName("@XEntityCache 엔티티의 findOne/exists 는 캐시를 거치고 없는 키도 캐시하며 호출마다 복사본을 돌려준다")
+    void findOneReadsThroughEntityCache() {
+        IXRepository<Long, CachedUser> repository = repository(CachedUser.class);
+
+        CachedUser first = repository.findOne(1L);
+        CachedUser second = repository.findOne(1L);
+        assertTrue(repository.exists(1L));
+        assertNull(repository.findOne(-1L));
+        assertFalse(repository.exists(-1L));
+
+        assertNotSame(first, second);
+        assertEquals(1L, second.getId());
+        assertEquals(2, calls.size());
+        assertEquals(new XEntityReadCache.Stats(3, 2, 0, 2), XEntityReadCache.statistics().get("cached_user"));
+    }
+
+    @Test
+    @DisplayName("쓰기 메서드는 해당 키를, 조건 삭제는 엔티티 캐시 전체를 무효화한다")
+    void writesInvalidateEntityCache() {
+        IXRepository<Long, CachedUser> repository = repository(CachedUser.class);
+        CachedUser user = repository.findOne(1L);
+        repository.findOne(2L);
+
+        repository.update(user);
+        repository.findOne(1L);
+        repository.findOne(2L);
+        repository.deleteWhere(Map.of("name", "a"));
+        repository.findOne(2L);
+
+        assertEquals(List.of(1L, 2L, 1L, 2L), calls.stream()
+                .filter(c -> c.getKey().equals("findById"))
+                .map(c -> c.getValue().getWhere())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("identity map 범위 안에서는 같은 키를 한 번만 조회하고 같은 인스턴스를 돌려주며 쓰기 후에는 다시 조회한다")
+    @SuppressWarnings("try") // 범위를 여닫기만 하므로 scope 변수는 쓰지 않는다
+    void identityMapServesRepeatedLookups() {
+        IXRepository<Long, ProxyUser> repository = repository();
+
+        try (XIdentityMap.Scope scope = XIdentityMap.open()) {
+            ProxyUser user = repository.findOne(2L);
+            assertSame(user, repository.findOne(2L));
+            assertEquals(List.of(2L, 4L), repository.findAllByIds(List.of(2L, 4L, 5L)).stream()
+                    .map(ProxyUser::getId).toList());
+            assertSame(user, repository.findMapByIds(List.of(2L, 5L)).get(2L));
+
+            repository.update(user);
+            repository.findOne(2L);
+        }
+        repository.findOne(2L);
+
+        assertEquals(List.of("findById", "findByIds", "update", "findById", "findById"),
+                calls.stream().map(Map.Entry::getKey).toList());
+        assertEquals(List.of(4L, 5L), calls.get(1).getValue().getWhere());
+    }
+
+    @Test
+    @DisplayName("파생 메서드는 생성 시 컴파일된 필드 순서대로 인자를 where 에 묶고, 지원하지 않는 메서드는 거부한다")
+    void derivedMethodsBindArgumentsInFieldOrder() {
+        ProxyUserRepository repository = (ProxyUserRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{ProxyUserRepository.class},
+                new XRepositoryProxy(mapper(), ProxyUserRepository.class, Long.class, ProxyUser.class));
+
+        repository.findAllByNameAndId("a", 3L);
+        repository.countByName("b");
+
+        assertEquals(Map.of("name", "a", "id", 3L), calls.get(0).getValue().getWhere());
+        assertEquals(List.of("name", "id"), List.copyOf(((Map<?, ?>) calls.get(0).getValue().getWhere()).keySet()));
+        assertEquals(List.of("findWhere", "count"), calls.stream().map(Map.Entry::getKey).toList());
+        assertThrows(UnsupportedOperationException.class, repository::loadEverything);
+        assertThrows(UnsupportedOperationException.class, () -> repository.findBy("a"));
+    }
+
+    @Test
+    @DisplayName("NULL 컬럼을 primitive projection 컴포넌트에 넣으려 하면 컴포넌트 이름과 함께 실패한다")
+    void projectionRejectsNullIntoPrimitive() {
+        ProxyUserRepository repository = (ProxyUserRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{ProxyUserRepository.class},
+                new XRepositoryProxy(mapper(), ProxyUserRepository.class, Long.class, ProxyUser.class));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> repository.findByName("a"));
+
+        assertTrue(e.getMessage().contains("PrimitiveId.id is a primitive long"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("prewarm 은 잘못된 파생 필드명, 인자 수, 지원하지 않는 메서드를 한 번에 보고한다")
+    void prewarmRejectsInvalidMethods() {
+        new XRepositoryProxy(mapper(), IXRepository.class, Long.class, ProxyUser.class).prewarm(null);
+        XRepositoryProxy proxy = new XRepositoryProxy(mapper(), TypoRepository.class, Long.class, ProxyUser.class);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> proxy.prewarm(null));
+
+        assertTrue(e.getMessage().contains("findByNmae: unknown field 'nmae'"), e.getMessage());
+        assertTrue(e.getMessage().contains("countByName: expects 1 arguments but declares 2"), e.getMessage());
+        assertTrue(e.getMessage().contains("loadEverything"), e.getMessage());
+        assertTrue(e.getMessage().contains("countBy: not a repository method or derived query"), e.getMessage());
+        assertTrue(calls.isEmpty());
+    }
+
+    private void configure(Map<String, Object> properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        new XRepositoryConfig(environment);
+    }
+
+    private IXRepository<Long, ProxyUser> repository() {
+        return repository(ProxyUser.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> IXRepository<Long, T> repository(Class<T> modelClass) {
+        return (IXRepository<Long, T>) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{IXRepository.class},
+                new XRepositoryProxy(mapper(), IXRepository.class, Long.class, modelClass));
+    }
+
+    private CommonMapper mapper() {
+        return (CommonMapper) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{CommonMapper.class},
+                (proxy, method, args) -> {
+                    XMapperParameter parameter = (XMapperParameter) args[0];
+                    calls.add(Map.entry(method.getName(), parameter));
+                    return switch (method.getName()) {
+                        case "insertAll" -> (long) ((List<?>) parameter.getModel()).size();
+                        case "upsertAll", "upsertAllNonNull" -> ((List<?>) parameter.getModel()).size();
+                        case "update", "selectiveUpdate", "delete" -> 1;
+                        case "count" -> 0L;
+                        case "findOneBy" -> user((String) ((Map<?, ?>) parameter.getWhere()).get("name"));
+                        // 양수 키만 존재하는 테이블 흉내
+                        case "findById" -> (Long) parameter.getWhere() > 0
+                                ? user(parameter.getResultClass(), (Long) parameter.getWhere()) : null;
+                        // 짝수 키만 존재하는 테이블 흉내 — IN 목록의 중복은 결과에 한 번만 나타난다
+                        case "findByIds" -> ((List<?>) parameter.getWhere()).stream()
+                                .distinct()
+                                .filter(key -> (Long) key % 2 == 0)
+                                .map(key -> user((Long) key))
+                                .toList();
+                        case "streamAll", "streamWhere" -> {
+                            ListCursor cursor = new ListCursor(List.of(user("a"), user("b")));
+                            cursors.add(cursor);
+                            yield cursor;
+                        }
+                        default -> null;
+                    };
+                });
+    }
+
+    private static ProxyUser user(Long id) {
+        ProxyUser user = new ProxyUser();
+        user.setId(id);
+        return user;
+    }
+
+    private static ProxyUser user(Class<?> modelClass, Long id) {
+        ProxyUser user = (ProxyUser) BeanUtils.instantiateClass(modelClass);
+        user.setId(id);
+        return user;
+    }
+
+    private static ProxyUser user(String name) {
+        ProxyUser user = new ProxyUser();
+        user.setName(name);
+        return user;
+    }
+
+    interface ProxyUserRepository extends IXRepository<Long, ProxyUser> {
+
+        List<ProxyUser> findAllByNameAndId(String name, Long id);
+
+        long countByName(String name);
+
+        PrimitiveId findByName(String name);
+
+        List<ProxyUser> findBy(String name);
+
+        List<ProxyUser> loadEverything();
+    }
+
+    record PrimitiveId(long id) {
+    }
+
+    interface TypoRepository extends IXRepository<Long, ProxyUser> {
+
+        ProxyUser findByNmae(String name);
+
+        long countByName(String name, String other);
+
+        long countBy();
+
+        List<ProxyUser> loadEverything();
+    }
+
+    /** Minimal in-memory {@link Cursor} that records whether it was closed. */
+    private static class ListCursor implements Cursor<Object> {
+
+        private final List<?> rows;
+        private boolean closed;
+
+        ListCursor(List<?> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return false;
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return -1;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterator<Object> iterator() {
+            return (Iterator<Object>) rows.iterator();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+    }
+
+    @XEntity("proxy_user")
+    public static class ProxyUser {
+
+        @XColumn(isPrimaryKey = true, isAutoIncrement = true)
+        private Long id;
+        private String name;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    @XEntity("cached_user")
+    @XEntityCache(ttl = "1m")
+    public static class CachedUser extends ProxyUser {
+    }
+}
@@ -0,0 +1,36 @@
+package one.axim.framework.mybatis.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class XCursorCodecTest {
+
+    @Test
+    @DisplayName("값의 타입을 유지한 채 왕복한다")
+    void roundTripKeepsTypes() {
+        List<Object> values = Arrays.asList(LocalDateTime.of(2024, 5, 1, 12, 30), 42L, 7, "a:b", new BigDecimal("1.50"), null);
+
+        String cursor = XCursorCodec.encode("created_at DESC,id DESC", values);
+
+        assertFalse(cursor.contains("=") || cursor.contains("+") || cursor.contains("/"));
+        assertEquals(values, XCursorCodec.decode(cursor, "created_at DESC,id DESC"));
+    }
+
+    @Test
+    @DisplayName("다른 정렬로 발급된 커서나 깨진 커서는 거부한다")
+    void rejectsForeignOrMalformedCursor() {
+        String cursor = XCursorCodec.encode("id ASC", List.of(1L));
+
+        assertThrows(IllegalArgumentException.class, () -> XCursorCodec.decode(cursor, "id DESC"));
+        assertThrows(IllegalArgumentException.class, () -> XCursorCodec.decode("not-a-cursor!", "id ASC"));
+    }
+}
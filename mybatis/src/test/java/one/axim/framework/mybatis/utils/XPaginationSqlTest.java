@@ -1,9 +1,17 @@
 package one.axim.framework.mybatis.utils;
 
+import one.axim.framework.core.data.XDirection;
+import one.axim.framework.core.data.XPagination;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
@@ -78,4 +86,138 @@ class XPaginationSqlTest {
                 XPaginationSql.stripTrailingOrderBy(
                         "SELECT a FROM t1 UNION ALL SELECT a FROM t2 ORDER BY a DESC"));
     }
+
+    @Test
+    @DisplayName("keyset 첫 페이지는 seek 조건 없이 size + 1 행을 읽는다")
+    void keysetFirstPage() {
+        List<Object> binds = new ArrayList<>();
+
+        assertEquals("SELECT * FROM (SELECT * FROM t WHERE a = ?) _k ORDER BY id ASC LIMIT 21",
+                XPaginationSql.keysetQuery("SELECT * FROM t WHERE a = ? ORDER BY name",
+                        List.of("id"), List.of(XDirection.ASC), null, 20, binds));
+        assertEquals(List.of(), binds);
+    }
+
+    @Test
+    @DisplayName("정렬 방향이 모두 같으면 row constructor 로 비교한다")
+    void keysetUniformDirectionUsesRowConstructor() {
+        List<Object> binds = new ArrayList<>();
+
+        assertEquals("SELECT * FROM (SELECT * FROM t) _k WHERE (created_at, id) < (?, ?)"
+                        + " ORDER BY created_at DESC, id DESC LIMIT 11",
+                XPaginationSql.keysetQuery("SELECT * FROM t", List.of("created_at", "id"),
+                        List.of(XDirection.DESC, XDirection.DESC), List.of("2024-01-01", 7L), 10, binds));
+        assertEquals(List.of("2024-01-01", 7L), binds);
+    }
+
+    @Test
+    @DisplayName("정렬 방향이 섞이면 OR 조건으로 풀어쓰고 값을 자리마다 바인딩한다")
+    void keysetMixedDirectionExpandsPredicate() {
+        List<Object> binds = new ArrayList<>();
+
+        assertEquals("SELECT * FROM (SELECT * FROM t) _k WHERE ((name > ?) OR (name = ? AND id < ?))"
+                        + " ORDER BY name ASC, id DESC LIMIT 6",
+                XPaginationSql.keysetQuery("SELECT * FROM t", List.of("name", "id"),
+                        List.of(XDirection.ASC, XDirection.DESC), List.of("kim", 3L), 5, binds));
+        assertEquals(List.of("kim", "kim", 3L), binds);
+    }
+
+    @Test
+    @DisplayName("커서 값이 NULL 이면 IS NULL / IS NOT NULL 로 비교해 NULL 뒤의 행을 이어서 읽는다")
+    void keysetNullCursorValueUsesNullPredicates() {
+        List<Object> asc = new ArrayList<>();
+        assertEquals("SELECT * FROM (SELECT * FROM t) _k WHERE ((name IS NOT NULL) OR (name IS NULL AND id > ?))"
+                        + " ORDER BY name ASC, id ASC LIMIT 6",
+                XPaginationSql.keysetQuery("SELECT * FROM t", List.of("name", "id"),
+                        List.of(XDirection.ASC, XDirection.ASC), Arrays.asList(null, 3L), 5, asc));
+        assertEquals(List.of(3L), asc);
+
+        List<Object> desc = new ArrayList<>();
+        assertEquals("SELECT * FROM (SELECT * FROM t) _k WHERE ((name IS NULL AND id < ?))"
+                        + " ORDER BY name DESC, id DESC LIMIT 6",
+                XPaginationSql.keysetQuery("SELECT * FROM t", List.of("name", "id"),
+                        List.of(XDirection.DESC, XDirection.DESC), Arrays.asList(null, 3L), 5, desc));
+        assertEquals(List.of(3L), desc);
+    }
+
+    @Test
+    @DisplayName("nullable 컬럼의 DESC 정렬은 뒤에 오는 NULL 행도 포함한다")
+    void keysetNullableDescendingIncludesTrailingNulls() {
+        List<Object> binds = new ArrayList<>();
+
+        assertEquals("SELECT * FROM (SELECT * FROM t) _k"
+                        + " WHERE ((name < ? OR name IS NULL) OR (name = ? AND id < ?))"
+                        + " ORDER BY name DESC, id DESC LIMIT 6",
+                XPaginationSql.keysetQuery("SELECT * FROM t", List.of("name", "id"),
+                        List.of(XDirection.DESC, XDirection.DESC), Set.of("name"), List.of("kim", 3L), 5, binds));
+        assertEquals(List.of("kim", "kim", 3L), binds);
+    }
+
+    @Test
+    @DisplayName("단순 select 목록은 COUNT 로 바꾸고 ORDER BY 를 제거한다")
+    void countQueryCollapsesSimpleSelect() {
+        assertEquals("SELECT COUNT(1) FROM users u JOIN teams t ON t.id = u.team_id WHERE u.status = ?",
+                XPaginationSql.countQuery("SELECT u.*, t.name AS team_name FROM users u JOIN teams t"
+                        + " ON t.id = u.team_id WHERE u.status = ? ORDER BY u.created_at DESC"));
+    }
+
+    @Test
+    @DisplayName("DISTINCT, GROUP BY, 함수가 있는 select 목록은 파생 테이블로 감싼다")
+    void countQueryWrapsWhenRowCountWouldChange() {
+        assertEquals("SELECT COUNT(1) FROM (SELECT DISTINCT team_id FROM users) _tmp",
+                XPaginationSql.countQuery("SELECT DISTINCT team_id FROM users ORDER BY team_id"));
+        assertEquals("SELECT COUNT(1) FROM (SELECT team_id, COUNT(*) c FROM users GROUP BY team_id) _tmp",
+                XPaginationSql.countQuery("SELECT team_id, COUNT(*) c FROM users GROUP BY team_id"));
+        assertEquals("SELECT COUNT(1) FROM (SELECT a FROM t UNION SELECT a FROM s) _tmp",
+                XPaginationSql.countQuery("SELECT a FROM t UNION SELECT a FROM s"));
+    }
+
+    @Test
+    @DisplayName("파라미터가 있는 select 목록이나 ORDER BY 는 바인딩 개수를 지키기 위해 남긴다")
+    void countQueryKeepsPlaceholders() {
+        assertEquals("SELECT COUNT(1) FROM (SELECT id, ? AS tag FROM t) _tmp",
+                XPaginationSql.countQuery("SELECT id, ? AS tag FROM t"));
+        assertEquals("SELECT COUNT(1) FROM (SELECT * FROM t ORDER BY FIELD(id, ?)) _tmp",
+                XPaginationSql.countQuery("SELECT * FROM t ORDER BY FIELD(id, ?)"));
+    }
+
+    @Test
+    @DisplayName("lookahead 만큼 LIMIT 을 늘리고 offset 은 그대로 둔다")
+    void limitWithLookahead() {
+        XPagination pagination = new XPagination();
+        pagination.setPage(3);
+        pagination.setSize(10);
+
+        assertEquals(" LIMIT 20, 11", XPaginationSql.limit(pagination, 1));
+        assertEquals(" LIMIT 20, 10", XPaginationSql.limit(pagination));
+    }
+
+    @Test
+    @DisplayName("조건 없는 단일 테이블 COUNT 만 추정 대상 테이블을 돌려준다")
+    void unfilteredCountTable() {
+        assertEquals("`app`.`users`", XPaginationSql.unfilteredCountTable("SELECT COUNT(1) FROM `app`.`users`"));
+        assertEquals("users", XPaginationSql.unfilteredCountTable("SELECT COUNT(1) FROM users u"));
+        assertNull(XPaginationSql.unfilteredCountTable("SELECT COUNT(1) FROM users WHERE status = ?"));
+        assertNull(XPaginationSql.unfilteredCountTable("SELECT COUNT(1) FROM users u JOIN teams t ON t.id = u.team_id"));
+    }
+
+    @Test
+    @DisplayName("단일 테이블 페이지 쿼리는 PK 만 먼저 페이징하는 deferred join 으로 바꾼다")
+    void deferredJoinPagesPrimaryKeysFirst() {
+        assertEquals("SELECT id, name FROM `users` JOIN (SELECT id AS _pk0 FROM `users`\nWHERE (status = ?)"
+                        + " ORDER BY created_at DESC LIMIT 1000, 20) _d ON `users`.id = _d._pk0 ORDER BY created_at DESC",
+                XPaginationSql.deferredJoin("SELECT id, name\nFROM `users`\nWHERE (status = ?)", "`users`",
+                        List.of("id"), " ORDER BY created_at DESC", " LIMIT 1000, 20"));
+    }
+
+    @Test
+    @DisplayName("조인, GROUP BY, 다른 테이블 쿼리는 deferred join 으로 바꾸지 않는다")
+    void deferredJoinSkipsOtherShapes() {
+        assertNull(XPaginationSql.deferredJoin("SELECT u.* FROM `users` u JOIN teams t ON t.id = u.team_id",
+                "`users`", List.of("id"), " ORDER BY id", " LIMIT 10, 10"));
+        assertNull(XPaginationSql.deferredJoin("SELECT status, COUNT(*) FROM `users` GROUP BY status",
+                "`users`", List.of("id"), " ORDER BY status", " LIMIT 10, 10"));
+        assertNull(XPaginationSql.deferredJoin("SELECT id FROM `orders`",
+                "`users`", List.of("id"), " ORDER BY id", " LIMIT 10, 10"));
+    }
 }
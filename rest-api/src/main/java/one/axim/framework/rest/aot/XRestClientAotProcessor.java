@@ -0,0 +1,53 @@
+package one.axim.framework.rest.aot;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers native-image hints for every {@code @XRestService} interface {@code XRestClientBeanScanner}
+ * found while the application was processed ahead of time: the JDK proxy, the method annotations
+ * {@code XRestClientProxy} reads, and Jackson bindings for request and response types.
+ */
+class XRestClientAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    private static final String PROXY_FACTORY_BEAN = "xRestClientProxyFactoryBean";
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        List<Class<?>> services = new ArrayList<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (PROXY_FACTORY_BEAN.equals(definition.getFactoryBeanName()) && definition.getBeanClassName() != null) {
+                services.add(ClassUtils.resolveClassName(definition.getBeanClassName(), beanFactory.getBeanClassLoader()));
+            }
+        }
+        if (services.isEmpty()) {
+            return null;
+        }
+        return (generationContext, code) -> {
+            RuntimeHints hints = generationContext.getRuntimeHints();
+            BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+            for (Class<?> service : services) {
+                hints.proxies().registerJdkProxy(service);
+                hints.reflection().registerType(service, MemberCategory.INTROSPECT_PUBLIC_METHODS);
+                for (Method method : service.getMethods()) {
+                    bindings.registerReflectionHints(hints.reflection(), method.getGenericReturnType());
+                    for (Type parameterType : method.getGenericParameterTypes()) {
+                        bindings.registerReflectionHints(hints.reflection(), parameterType);
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package one.axim.framework.rest.aot;
+
+import one.axim.framework.core.data.XOrder;
+import one.axim.framework.core.data.XPage;
+import one.axim.framework.core.data.XPagination;
+import one.axim.framework.rest.model.ApiError;
+import one.axim.framework.rest.model.SessionData;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Native-image hints for the framework models Jackson reads and writes: error bodies, session
+ * tokens and paginated results. Hints for {@code @XRestService} clients come from
+ * {@link XRestClientAotProcessor}.
+ */
+class XRestRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                ApiError.class, SessionData.class, XPage.class, XPagination.class, XOrder.class);
+    }
+}
@@ -1,5 +1,6 @@
 package one.axim.framework.rest.configuration;
 
+import org.springframework.aot.AotDetector;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
@@ -12,6 +13,10 @@ public class XRestClientBeanDefinitionRegistryPostProcessor implements BeanDefin
 
     @Override
     public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) throws BeansException {
+        if (AotDetector.useGeneratedArtifacts()) {
+            // AOT 로 생성된 빈 정의가 이미 등록되어 있다
+            return;
+        }
         try {
             new XRestClientBeanScanner(registry).scanAfterUpdateBeanDefinition();
         } catch (Exception e) {
@@ -67,9 +67,8 @@ public class XRestClientBeanScanner extends ClassPathBeanDefinitionScanner {
 
                 Class<?> clazz = Class.forName(definition.getBeanClassName());
 
+                // Class 인자만 넘겨야 AOT 가 빈 정의를 코드로 생성할 수 있다 (ClassLoader 는 불가)
                 ConstructorArgumentValues args = new ConstructorArgumentValues();
-
-                args.addGenericArgumentValue(clazz.getClassLoader());
                 args.addGenericArgumentValue(clazz);
                 definition.setConstructorArgumentValues(args);
 
@@ -1,6 +1,7 @@
 package one.axim.framework.rest.configuration;
 
 import one.axim.framework.rest.proxy.XWebClient;
+import org.springframework.aot.AotDetector;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.ConstructorArgumentValues;
@@ -28,6 +29,10 @@ public class XWebClientBeanDefinitionRegistryPostProcessor
 
     @Override
     public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) throws BeansException {
+        if (AotDetector.useGeneratedArtifacts()) {
+            // AOT 로 생성된 빈 정의가 이미 등록되어 있다
+            return;
+        }
         Map<String, String> services = Binder.get(environment)
                 .bind("axim.web-client.services", Bindable.mapOf(String.class, String.class))
                 .orElse(Map.of());
@@ -14,4 +14,8 @@ public class XRestClientProxyFactoryBean {
         return (R) Proxy.newProxyInstance(classLoader, new Class[]{clazz}, xRestClientProxy);
     }
 
+    public <R> R createXRestClientProxyBean(Class<R> clazz) {
+        return createXRestClientProxyBean(clazz.getClassLoader(), clazz);
+    }
+
 }
@@ -38,6 +38,8 @@ public class XPaginationResolver implements HandlerMethodArgumentResolver {
         int sizeDefault = XPagination.DEFAULT_SIZE;
         int pageDefault = XPagination.DEFAULT_PAGE;
 
+        boolean skipCountDefault = false;
+
         String sortColumnDefault = null;
         XDirection sortDirectionDefault = XDirection.DESC;
 
@@ -45,6 +47,7 @@ public class XPaginationResolver implements HandlerMethodArgumentResolver {
             offsetDefault = xPaginationDefault.offset();
             sizeDefault = xPaginationDefault.size();
             pageDefault = xPaginationDefault.page();
+            skipCountDefault = xPaginationDefault.skipCount();
 
             sortColumnDefault = xPaginationDefault.column().isEmpty() ? null : xPaginationDefault.column();
             sortDirectionDefault = xPaginationDefault.direction();
@@ -54,6 +57,16 @@ public class XPaginationResolver implements HandlerMethodArgumentResolver {
         returnValue.setSize(getParameterIntValue("size", request, sizeDefault));
         returnValue.setPage(getParameterIntValue("page", request, pageDefault));
 
+        String skipCount = request.getParameter("skipCount");
+        returnValue.setSkipCount(StringUtils.hasText(skipCount) && !"undefined".equals(skipCount)
+                && !"null".equals(skipCount) ? Boolean.parseBoolean(skipCount.trim()) : skipCountDefault);
+
+        // cursor 파라미터가 있으면(빈 값 포함) keyset 페이지네이션 — 빈 값은 첫 페이지
+        String cursor = request.getParameter("cursor");
+        if (cursor != null && !"undefined".equals(cursor) && !"null".equals(cursor)) {
+            returnValue.setCursor(cursor.trim());
+        }
+
         if (request.getParameter("sort") != null) {
             String[] sortValues = request.getParameterValues("sort");
             for (String sortValue : sortValues) {